@@ -3,20 +3,35 @@ package dev.diar.adapter.audio;
 import dev.diar.app.port.AudioCapturePort;
 
 import javax.sound.sampled.*;
-import java.io.ByteArrayOutputStream;
-import java.io.File;
+import java.io.IOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 
 public class JavaSoundAudioCapturePort implements AudioCapturePort {
+    private static final AudioFormat CAPTURE_FORMAT = new AudioFormat(16000, 16, 1, true, false);
+    private static final int SPECTRUM_WINDOW = 1024; // ~64ms @16kHz
+    private static final int SPECTRUM_HOP = 512; // half-window overlap, a frame every ~32ms
+    private static final int SPECTRUM_BINS = 48;
+    private static final int CHUNK_BYTES = 4096; // 128ms @16kHz/16-bit
+    private static final int AUDIO_RING_BYTES = 1 << 20; // ~32s of audio the disk may fall behind by
+    private static final long CHECKPOINT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+    private static final int ANALYSIS_RING_BYTES = 1 << 16; // ~2s; metering may drop, the file may not
     private final AtomicBoolean recording = new AtomicBoolean(false);
     private Path currentTarget;
     private TargetDataLine line;
     private Thread recordingThread;
-    private ByteArrayOutputStream audioData;
+    private Thread writerThread;
+    private Thread analysisThread;
+    private StreamingWavWriter wavWriter;
+    private RecordingJournal journal;
+    private volatile PcmRingBuffer audioRing;
+    private volatile PcmRingBuffer analysisRing;
+    private volatile long lineOverruns; // written by the capture thread only
+    private volatile IOException writeFailure;
     private volatile double inputGain = 1.0; // 1.0 = unity
     private volatile String inputDeviceId = "default";
     private volatile Mixer.Info selectedMixerInfo = null;
@@ -28,12 +43,11 @@ public class JavaSoundAudioCapturePort implements AudioCapturePort {
         }
         
         this.currentTarget = targetFile;
-        this.audioData = new ByteArrayOutputStream();
         recording.set(true);
         
         // Configure and open line synchronously to fail fast (e.g., missing mic permission)
         try {
-            AudioFormat format = new AudioFormat(16000, 16, 1, true, false);
+            AudioFormat format = CAPTURE_FORMAT;
             DataLine.Info info = new DataLine.Info(TargetDataLine.class, format);
             if (!AudioSystem.isLineSupported(info)) {
                 throw new RuntimeException("Audio line not supported for 16kHz/16-bit mono");
@@ -45,35 +59,12 @@ public class JavaSoundAudioCapturePort implements AudioCapturePort {
                 line = (TargetDataLine) AudioSystem.getLine(info);
             }
             line.open(format);
-            line.start();
         } catch (Exception openEx) {
             recording.set(false);
             throw new RuntimeException("Failed to access microphone. Check system permissions.", openEx);
         }
-
-        recordingThread = new Thread(() -> {
-            try {
-                byte[] buffer = new byte[4096];
-                while (recording.get()) {
-                    int bytesRead = line.read(buffer, 0, buffer.length);
-                    if (bytesRead > 0) {
-                        // Apply input gain to little-endian 16-bit samples in-place
-                        applyGainInPlace(buffer, bytesRead);
-                        audioData.write(buffer, 0, bytesRead);
-
-                        // Calculate audio level for meter callback
-                        double level = calculateRMSLevel(buffer, bytesRead);
-                        if (levelMeterCallback != null) {
-                            levelMeterCallback.accept(level);
-                        }
-                    }
-                }
-            } catch (Exception e) {
-                // Surface errors for caller visibility
-                throw new RuntimeException("Audio capture failed", e);
-            }
-        });
-        recordingThread.start();
+        openWavWriter(targetFile);
+        startPipeline(levelMeterCallback, null);
     }
 
     @Override
@@ -83,76 +74,23 @@ public class JavaSoundAudioCapturePort implements AudioCapturePort {
         }
 
         this.currentTarget = targetFile;
-        this.audioData = new ByteArrayOutputStream();
         recording.set(true);
 
         // Configure and open line
         try {
-            AudioFormat format = new AudioFormat(16000, 16, 1, true, false);
+            AudioFormat format = CAPTURE_FORMAT;
             DataLine.Info info = new DataLine.Info(TargetDataLine.class, format);
             if (!AudioSystem.isLineSupported(info)) {
                 throw new RuntimeException("Audio line not supported for 16kHz/16-bit mono");
             }
             line = (TargetDataLine) AudioSystem.getLine(info);
             line.open(format);
-            line.start();
         } catch (Exception openEx) {
             recording.set(false);
             throw new RuntimeException("Failed to access microphone. Check system permissions.", openEx);
         }
-
-        recordingThread = new Thread(() -> {
-            try {
-                final int windowSamples = 1024; // ~64ms @16kHz
-                final int binCount = 48;
-                short[] window = new short[windowSamples];
-                int wpos = 0;
-                byte[] buffer = new byte[4096];
-                while (recording.get()) {
-                    int bytesRead = line.read(buffer, 0, buffer.length);
-                    if (bytesRead > 0) {
-                        // Apply input gain to samples before saving/analysis
-                        applyGainInPlace(buffer, bytesRead);
-                        audioData.write(buffer, 0, bytesRead);
-
-                        double level = calculateRMSLevel(buffer, bytesRead);
-                        if (levelMeterCallback != null) levelMeterCallback.accept(level);
-
-                        // Append to window
-                        for (int i = 0; i < bytesRead - 1; i += 2) {
-                            short sample = (short) ((buffer[i + 1] << 8) | (buffer[i] & 0xFF));
-                            window[wpos++] = sample;
-                            if (wpos >= windowSamples) {
-                                // Compute spectrum bins using naive DFT at equally spaced frequencies up to Nyquist
-                                float[] bins = new float[binCount];
-                                double twoPiOverN = 2 * Math.PI / windowSamples;
-                                // Hanning window and DFT accumulation
-                                for (int b = 0; b < binCount; b++) {
-                                    int k = (int) Math.round((b + 1) * (windowSamples / 2.0) / (binCount + 1));
-                                    double sumRe = 0, sumIm = 0;
-                                    for (int n = 0; n < windowSamples; n++) {
-                                        double w = 0.5 - 0.5 * Math.cos(2 * Math.PI * n / (windowSamples - 1));
-                                        double x = window[n] * w;
-                                        double ang = twoPiOverN * k * n;
-                                        sumRe += x * Math.cos(ang);
-                                        sumIm -= x * Math.sin(ang);
-                                    }
-                                    double mag = Math.sqrt(sumRe * sumRe + sumIm * sumIm) / (windowSamples * 2048.0);
-                                    // Apply gain and soft compression for perceived loudness
-                                    double boosted = Math.pow(mag * 8.0, 0.6); // gain x8, gamma 0.6
-                                    bins[b] = (float) Math.max(0.0, Math.min(1.0, boosted));
-                                }
-                                if (spectrumCallback != null) spectrumCallback.accept(bins);
-                                wpos = 0; // reset window
-                            }
-                        }
-                    }
-                }
-            } catch (Exception e) {
-                throw new RuntimeException("Audio capture failed", e);
-            }
-        });
-        recordingThread.start();
+        openWavWriter(targetFile);
+        startPipeline(levelMeterCallback, spectrumCallback);
     }
 
     @Override
@@ -172,18 +110,26 @@ public class JavaSoundAudioCapturePort implements AudioCapturePort {
                 line.stop();
                 line.close();
             }
+            // Normally closed by the capture thread already; this covers a read that never returned
+            audioRing.close();
+            analysisRing.close();
+            // The writer drains everything captured before the file is finished
+            writerThread.join();
+            analysisThread.join(2000);
+            if (writeFailure != null) {
+                wavWriter.close();
+                throw writeFailure;
+            }
             
-            // Write WAV file
-            AudioFormat format = new AudioFormat(16000, 16, 1, true, false);
-            byte[] data;
-            if (audioData != null && audioData.size() > 0) {
-                data = audioData.toByteArray();
-            } else {
+            // Samples are already on disk; only the header sizes remain to be written
+            if (wavWriter.dataBytes() == 0) {
                 // Ensure a minimal file exists to avoid playback errors; write 0.2s of silence
-                int frames = (int) (format.getFrameRate() * 0.2);
-                data = new byte[frames * format.getFrameSize()];
+                int frames = (int) (CAPTURE_FORMAT.getFrameRate() * 0.2);
+                byte[] silence = new byte[frames * CAPTURE_FORMAT.getFrameSize()];
+                wavWriter.write(silence, 0, silence.length);
             }
-            writeWavFile(currentTarget.toFile(), data, format);
+            wavWriter.close();
+            journal.complete();
         } catch (Exception e) {
             throw new RuntimeException("Failed to finalize recording", e);
         }
@@ -191,6 +137,110 @@ public class JavaSoundAudioCapturePort implements AudioCapturePort {
         return currentTarget;
     }
 
+    // The capture thread only reads the line, applies gain and copies into two rings. It never waits on
+    // disk or listeners, so a slow write or a busy UI cannot overrun the line. One consumer thread
+    // appends to the WAV file and another computes the level and spectrum.
+    private void startPipeline(Consumer<Double> levelMeterCallback, Consumer<float[]> spectrumCallback) {
+        PcmRingBuffer audio = new PcmRingBuffer(AUDIO_RING_BYTES);
+        PcmRingBuffer analysis = new PcmRingBuffer(ANALYSIS_RING_BYTES);
+        StreamingWavWriter writer = wavWriter;
+        RecordingJournal takeJournal = journal;
+        audioRing = audio;
+        analysisRing = analysis;
+        lineOverruns = 0;
+        writeFailure = null;
+
+        writerThread = new Thread(() -> {
+            byte[] chunk = new byte[CHUNK_BYTES];
+            long lastCheckpoint = System.nanoTime();
+            try {
+                int n;
+                while ((n = audio.take(chunk, 0, chunk.length)) >= 0) {
+                    writer.write(chunk, 0, n);
+                    // A crash loses at most this much audio; one header patch and fsync per interval
+                    if (System.nanoTime() - lastCheckpoint >= CHECKPOINT_INTERVAL_NANOS) {
+                        writer.checkpoint();
+                        takeJournal.checkpoint(writer.dataBytes());
+                        lastCheckpoint = System.nanoTime();
+                    }
+                }
+            } catch (IOException e) {
+                writeFailure = e;
+            }
+        }, "diar-audio-writer");
+
+        analysisThread = new Thread(() -> {
+            SpectrumAnalyzer analyzer = spectrumCallback != null
+                ? new SpectrumAnalyzer(SPECTRUM_WINDOW, SPECTRUM_HOP, SPECTRUM_BINS)
+                : null;
+            byte[] chunk = new byte[CHUNK_BYTES];
+            int n;
+            while ((n = analysis.take(chunk, 0, chunk.length)) >= 0) {
+                if (levelMeterCallback != null) levelMeterCallback.accept(calculateRMSLevel(chunk, n));
+                if (analyzer != null) analyzer.accept(chunk, n, spectrumCallback);
+            }
+        }, "diar-audio-analysis");
+
+        TargetDataLine source = line;
+        recordingThread = new Thread(() -> {
+            try {
+                byte[] buffer = new byte[CHUNK_BYTES];
+                while (recording.get()) {
+                    int bytesRead = source.read(buffer, 0, buffer.length);
+                    if (bytesRead > 0) {
+                        // A full line buffer means the device may have dropped samples before this read
+                        if (source.available() >= source.getBufferSize()) lineOverruns++;
+                        // Apply input gain to little-endian 16-bit samples in-place
+                        applyGainInPlace(buffer, bytesRead);
+                        audio.offer(buffer, 0, bytesRead);
+                        analysis.offer(buffer, 0, bytesRead);
+                    }
+                }
+            } finally {
+                audio.close();
+                analysis.close();
+            }
+        }, "diar-audio-capture");
+        recordingThread.setPriority(Thread.MAX_PRIORITY);
+
+        writerThread.start();
+        analysisThread.start();
+        source.start();
+        recordingThread.start();
+    }
+
+    @Override
+    public CaptureStats getCaptureStats() {
+        PcmRingBuffer audio = audioRing;
+        PcmRingBuffer analysis = analysisRing;
+        return new CaptureStats(lineOverruns,
+            audio != null ? audio.droppedBytes() : 0,
+            analysis != null ? analysis.droppedBytes() : 0);
+    }
+
+    // Opens the journal before capture starts, so a path problem fails the start rather than the take
+    private void openWavWriter(Path targetFile) {
+        RecordingJournal takeJournal = null;
+        try {
+            takeJournal = RecordingJournal.begin(targetFile);
+            wavWriter = new StreamingWavWriter(takeJournal.partialFile(), CAPTURE_FORMAT);
+            journal = takeJournal;
+        } catch (IOException e) {
+            // Otherwise the next recovery pass would find a take that never started
+            if (takeJournal != null) takeJournal.abandon();
+            line.close();
+            recording.set(false);
+            throw new RuntimeException("Failed to create recording file", e);
+        }
+    }
+
+    @Override
+    public List<RecoveredRecording> recoverInterruptedRecordings(Path dir) throws IOException {
+        // The partial of a take in progress here is not orphaned
+        if (recording.get()) return List.of();
+        return RecordingJournal.recover(dir);
+    }
+
     @Override
     public boolean isRecording() {
         return recording.get();
@@ -282,14 +332,4 @@ public class JavaSoundAudioCapturePort implements AudioCapturePort {
             buffer[i + 1] = (byte) ((v >>> 8) & 0xFF);
         }
     }
-    
-    private void writeWavFile(File file, byte[] audioData, AudioFormat format) throws Exception {
-        AudioInputStream ais = new AudioInputStream(
-            new java.io.ByteArrayInputStream(audioData),
-            format,
-            audioData.length / format.getFrameSize()
-        );
-        AudioSystem.write(ais, AudioFileFormat.Type.WAVE, file);
-        ais.close();
-    }
 }
@@ -0,0 +1,91 @@
+package dev.diar.adapter.audio;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Preallocated byte ring between exactly one producer thread and one consumer thread, without locks.
+ *
+ * The producer never waits: when the consumer has fallen so far behind that a chunk does not fit,
+ * the chunk is dropped and counted, so the capture thread always gets back to the audio line in
+ * time. The consumer parks while the ring is empty and is woken by the next offer.
+ */
+final class PcmRingBuffer {
+    private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final byte[] data;
+    private final int mask;
+    // head is only written by the consumer and tail only by the producer; both only grow
+    private volatile long head;
+    private volatile long tail;
+    private volatile long droppedBytes;
+    private volatile boolean closed;
+    private volatile Thread consumer;
+
+    PcmRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two: " + capacity);
+        }
+        this.data = new byte[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Copies the chunk in whole, or drops it whole if the ring lacks room. Producer thread only.
+     */
+    boolean offer(byte[] src, int offset, int length) {
+        long t = tail;
+        if (closed || length > data.length - (t - head)) {
+            droppedBytes += length;
+            return false;
+        }
+        int start = (int) (t & mask);
+        int first = Math.min(length, data.length - start);
+        System.arraycopy(src, offset, data, start, first);
+        System.arraycopy(src, offset + first, data, 0, length - first);
+        tail = t + length; // publishes the bytes copied above
+        Thread waiting = consumer;
+        if (waiting != null) LockSupport.unpark(waiting);
+        return true;
+    }
+
+    /**
+     * Copies up to maxLength buffered bytes into dst, waiting while the ring is empty. Returns -1 once
+     * the ring is closed and drained. Consumer thread only.
+     */
+    int take(byte[] dst, int offset, int maxLength) {
+        consumer = Thread.currentThread();
+        long h = head;
+        long available = tail - h;
+        while (available == 0) {
+            if (closed) {
+                // closed is set after the last offer, so this read of tail is final
+                available = tail - h;
+                if (available == 0) return -1;
+                break;
+            }
+            LockSupport.parkNanos(this, PARK_NANOS);
+            available = tail - h;
+        }
+        int n = (int) Math.min(available, maxLength);
+        int start = (int) (h & mask);
+        int first = Math.min(n, data.length - start);
+        System.arraycopy(data, start, dst, offset, first);
+        System.arraycopy(data, 0, dst, offset + first, n - first);
+        head = h + n; // hands the space back to the producer
+        return n;
+    }
+
+    /**
+     * Marks the end of input; the consumer drains what is left and then sees -1.
+     */
+    void close() {
+        closed = true;
+        Thread waiting = consumer;
+        if (waiting != null) LockSupport.unpark(waiting);
+    }
+
+    long droppedBytes() {
+        return droppedBytes;
+    }
+}
@@ -0,0 +1,169 @@
+package dev.diar.adapter.audio;
+
+import dev.diar.app.port.AudioCapturePort.RecoveredRecording;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Keeps a take recoverable while it is being captured. Audio goes to "name.wav.partial" next to the
+ * target, and a small "name.wav.journal" sidecar records the target and start time along with the
+ * latest checkpoint. A finished take is renamed into place and its sidecar removed. Whatever is
+ * left after a crash is finalized by {@link #recover}.
+ */
+final class RecordingJournal {
+    static final String PARTIAL_SUFFIX = ".partial";
+    static final String SIDECAR_SUFFIX = ".journal";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path target;
+    private final Path partial;
+    private final Path sidecar;
+    private final ZonedDateTime startedAt;
+
+    private RecordingJournal(Path target, ZonedDateTime startedAt) {
+        this.target = target;
+        this.partial = target.resolveSibling(target.getFileName() + PARTIAL_SUFFIX);
+        this.sidecar = target.resolveSibling(target.getFileName() + SIDECAR_SUFFIX);
+        this.startedAt = startedAt;
+    }
+
+    static RecordingJournal begin(Path target) throws IOException {
+        RecordingJournal journal = new RecordingJournal(target, ZonedDateTime.now());
+        journal.checkpoint(0);
+        return journal;
+    }
+
+    Path partialFile() {
+        return partial;
+    }
+
+    /**
+     * Replaces the sidecar atomically, so a crash leaves either the old or the new one.
+     */
+    void checkpoint(long dataBytes) throws IOException {
+        Properties p = new Properties();
+        p.setProperty("target", target.getFileName().toString());
+        p.setProperty("startedAt", startedAt.toString());
+        p.setProperty("checkpointBytes", Long.toString(dataBytes));
+        Path temp = sidecar.resolveSibling(sidecar.getFileName() + TEMP_SUFFIX);
+        try (FileChannel ch = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream out = Channels.newOutputStream(ch);
+            p.store(out, null);
+            out.flush();
+            ch.force(false);
+        }
+        Files.move(temp, sidecar, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Removes the partial and the sidecar of a take that never got going.
+     */
+    void abandon() {
+        for (Path p : new Path[] {partial, sidecar, sidecar.resolveSibling(sidecar.getFileName() + TEMP_SUFFIX)}) {
+            try {
+                Files.deleteIfExists(p);
+            } catch (IOException ignored) {
+                // A leftover is cleaned up or recovered by the next recovery pass
+            }
+        }
+    }
+
+    /**
+     * Moves the finished file into place and drops the sidecar.
+     */
+    void complete() throws IOException {
+        Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        Files.deleteIfExists(sidecar);
+    }
+
+    /**
+     * Turns every partial file in dir into a playable WAV holding all whole frames that reached the
+     * disk, and removes leftover sidecars. Partials too short or too damaged to repair are left alone,
+     * as is one that fails to finalize; it does not hold back the others and is tried again next time.
+     */
+    static List<RecoveredRecording> recover(Path dir) throws IOException {
+        List<RecoveredRecording> recovered = new ArrayList<>();
+        if (!Files.isDirectory(dir)) return recovered;
+        try (DirectoryStream<Path> partials = Files.newDirectoryStream(dir, "*" + PARTIAL_SUFFIX)) {
+            for (Path partial : partials) {
+                try {
+                    RecoveredRecording r = finalizePartial(partial);
+                    if (r != null) recovered.add(r);
+                } catch (IOException | RuntimeException ignored) {
+                    // Left in place with its sidecar for the next pass
+                }
+            }
+        }
+        // A crash between the rename and the sidecar delete leaves a sidecar with nothing to recover
+        try (DirectoryStream<Path> sidecars = Files.newDirectoryStream(dir, "*{" + SIDECAR_SUFFIX + "," + SIDECAR_SUFFIX + TEMP_SUFFIX + "}")) {
+            for (Path sidecar : sidecars) {
+                String name = sidecar.getFileName().toString();
+                String targetName = name.substring(0, name.lastIndexOf(SIDECAR_SUFFIX));
+                if (!Files.exists(dir.resolve(targetName + PARTIAL_SUFFIX))) Files.deleteIfExists(sidecar);
+            }
+        }
+        return recovered;
+    }
+
+    private static RecoveredRecording finalizePartial(Path partial) throws IOException {
+        String partialName = partial.getFileName().toString();
+        String defaultTarget = partialName.substring(0, partialName.length() - PARTIAL_SUFFIX.length());
+        Path sidecar = partial.resolveSibling(defaultTarget + SIDECAR_SUFFIX);
+        Properties p = new Properties();
+        if (Files.exists(sidecar)) {
+            try (InputStream in = Files.newInputStream(sidecar)) {
+                p.load(in);
+            }
+        }
+
+        long dataBytes;
+        int byteRate;
+        try (FileChannel ch = FileChannel.open(partial, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (ch.size() < StreamingWavWriter.HEADER_SIZE) return null;
+            ByteBuffer header = ByteBuffer.allocate(StreamingWavWriter.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && ch.read(header, header.position()) > 0) {}
+            if (header.getInt(0) != 0x46464952 || header.getInt(8) != 0x45564157) return null; // "RIFF", "WAVE"
+            byteRate = header.getInt(StreamingWavWriter.BYTE_RATE_OFFSET);
+            int blockAlign = Short.toUnsignedInt(header.getShort(StreamingWavWriter.BLOCK_ALIGN_OFFSET));
+            if (byteRate <= 0 || blockAlign <= 0) return null;
+            // Everything that reached the disk counts, not just up to the last checkpoint; a torn final frame is cut
+            dataBytes = (ch.size() - StreamingWavWriter.HEADER_SIZE) / blockAlign * blockAlign;
+            ch.truncate(StreamingWavWriter.HEADER_SIZE + dataBytes);
+            StreamingWavWriter.writeSizes(ch, dataBytes);
+            ch.force(false);
+        }
+
+        Path target = partial.resolveSibling(Path.of(p.getProperty("target", defaultTarget)).getFileName());
+        String name = target.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String stem = dot > 0 ? name.substring(0, dot) : name;
+        // Never replace an existing file, including one left by an earlier recovery
+        String extension = dot > 0 ? name.substring(dot) : "";
+        for (int i = 1; Files.exists(target); i++) {
+            target = target.resolveSibling(stem + "-recovered" + (i > 1 ? "-" + i : "") + extension);
+        }
+        ZonedDateTime startedAt = p.containsKey("startedAt")
+            ? ZonedDateTime.parse(p.getProperty("startedAt"))
+            : ZonedDateTime.ofInstant(Files.getLastModifiedTime(partial).toInstant(), ZoneId.systemDefault());
+        Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+        Files.deleteIfExists(sidecar);
+        return new RecoveredRecording(stem, target, startedAt, (int) Math.round((double) dataBytes / byteRate));
+    }
+}
@@ -0,0 +1,137 @@
+package dev.diar.adapter.audio;
+
+import java.util.function.Consumer;
+
+/**
+ * Turns 16-bit little-endian mono PCM into a live spectrum of binCount values in 0..1.
+ *
+ * A radix-2 FFT runs over a Hann-windowed frame of windowSize samples every hopSize samples, so
+ * frames overlap when hopSize is smaller than windowSize. The window, twiddle and bit-reversal
+ * tables are built once and nothing is allocated per frame, so a frame costs a few microseconds
+ * and the analysis thread keeps up with capture. Bins sit at the same frequencies, with the same
+ * scaling, as the direct DFT this replaces.
+ *
+ * Not thread-safe: one thread feeds it, in the capture pipeline the analysis thread that drains
+ * the analysis ring. The sink runs on that thread but gets an array of its own, so it may hand
+ * the array to another thread, such as the UI's, and read it whenever it likes.
+ */
+final class SpectrumAnalyzer {
+    private static final double FULL_SCALE = 2048.0;
+    private static final double DISPLAY_GAIN = 8.0;
+    private static final double DISPLAY_GAMMA = 0.6;
+
+    private final int windowSize;
+    private final int hopSize;
+    private final double[] hann;
+    private final double[] cos;
+    private final double[] sin;
+    private final int[] bitReversed;
+    private final int[] binIndex;
+    private final float[] ring;
+    private final double[] re;
+    private final double[] im;
+    private final float[] bins;
+    private int ringPos;
+    private int filled;
+    private int sinceFrame;
+
+    SpectrumAnalyzer(int windowSize, int hopSize, int binCount) {
+        if (windowSize < 2 || Integer.bitCount(windowSize) != 1) {
+            throw new IllegalArgumentException("windowSize must be a power of two: " + windowSize);
+        }
+        if (hopSize < 1 || hopSize > windowSize) {
+            throw new IllegalArgumentException("hopSize must be in 1.." + windowSize + ": " + hopSize);
+        }
+        if (binCount < 1 || binCount >= windowSize / 2) {
+            throw new IllegalArgumentException("binCount must be in 1.." + (windowSize / 2 - 1) + ": " + binCount);
+        }
+        this.windowSize = windowSize;
+        this.hopSize = hopSize;
+        int levels = Integer.numberOfTrailingZeros(windowSize);
+
+        hann = new double[windowSize];
+        for (int n = 0; n < windowSize; n++) {
+            hann[n] = 0.5 - 0.5 * Math.cos(2 * Math.PI * n / (windowSize - 1));
+        }
+        cos = new double[windowSize / 2];
+        sin = new double[windowSize / 2];
+        for (int k = 0; k < windowSize / 2; k++) {
+            cos[k] = Math.cos(2 * Math.PI * k / windowSize);
+            sin[k] = Math.sin(2 * Math.PI * k / windowSize);
+        }
+        bitReversed = new int[windowSize];
+        for (int i = 0; i < windowSize; i++) {
+            bitReversed[i] = Integer.reverse(i) >>> (32 - levels);
+        }
+        // Equally spaced up to Nyquist, excluding DC and Nyquist themselves
+        binIndex = new int[binCount];
+        for (int b = 0; b < binCount; b++) {
+            binIndex[b] = (int) Math.round((b + 1) * (windowSize / 2.0) / (binCount + 1));
+        }
+
+        ring = new float[windowSize];
+        re = new double[windowSize];
+        im = new double[windowSize];
+        bins = new float[binCount];
+    }
+
+    /**
+     * Consumes length bytes of PCM and, if any frame completed, hands a copy of the newest frame's
+     * bins to the sink. Older frames from the same chunk would be drawn over before they could be
+     * shown, so only one copy per chunk is made.
+     */
+    void accept(byte[] pcm, int length, Consumer<float[]> sink) {
+        boolean analyzed = false;
+        for (int i = 0; i < length - 1; i += 2) {
+            ring[ringPos] = (short) ((pcm[i + 1] << 8) | (pcm[i] & 0xFF));
+            ringPos = (ringPos + 1) & (windowSize - 1);
+            if (filled < windowSize) filled++;
+            if (++sinceFrame >= hopSize && filled == windowSize) {
+                sinceFrame = 0;
+                analyze();
+                analyzed = true;
+            }
+        }
+        if (analyzed && sink != null) sink.accept(bins.clone());
+    }
+
+    private void analyze() {
+        // ringPos is the oldest sample; load it windowed and in bit-reversed order
+        for (int n = 0; n < windowSize; n++) {
+            int j = bitReversed[n];
+            re[j] = ring[(ringPos + n) & (windowSize - 1)] * hann[n];
+            im[j] = 0;
+        }
+        fft();
+
+        double scale = windowSize * FULL_SCALE;
+        for (int b = 0; b < bins.length; b++) {
+            int k = binIndex[b];
+            double mag = Math.sqrt(re[k] * re[k] + im[k] * im[k]) / scale;
+            // Gain and soft compression for perceived loudness
+            double boosted = Math.pow(mag * DISPLAY_GAIN, DISPLAY_GAMMA);
+            bins[b] = (float) Math.max(0.0, Math.min(1.0, boosted));
+        }
+    }
+
+    // Iterative decimation in time over re/im, which must already be in bit-reversed order
+    private void fft() {
+        for (int size = 2; size <= windowSize; size <<= 1) {
+            int half = size >>> 1;
+            int step = windowSize / size;
+            for (int start = 0; start < windowSize; start += size) {
+                for (int k = 0, t = 0; k < half; k++, t += step) {
+                    int a = start + k;
+                    int b = a + half;
+                    // Forward transform: multiply by e^(-i*2*pi*k/size)
+                    double tr = re[b] * cos[t] + im[b] * sin[t];
+                    double ti = im[b] * cos[t] - re[b] * sin[t];
+                    re[b] = re[a] - tr;
+                    im[b] = im[a] - ti;
+                    re[a] += tr;
+                    im[a] += ti;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package dev.diar.adapter.audio;
+
+import javax.sound.sampled.AudioFormat;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes a PCM WAV file as the audio arrives. A header with zero sizes goes out first, samples are
+ * appended through a FileChannel, and close() patches the RIFF and data sizes in place, so memory
+ * use is constant and finishing a take costs one small write however long it ran. checkpoint() does
+ * the same patch mid-take and forces it to disk, so a crash leaves a playable file up to that point.
+ */
+final class StreamingWavWriter implements AutoCloseable {
+    static final int HEADER_SIZE = 44;
+    static final int BYTE_RATE_OFFSET = 28;
+    static final int BLOCK_ALIGN_OFFSET = 32;
+    private static final int RIFF_SIZE_OFFSET = 4;
+    private static final int DATA_SIZE_OFFSET = 40;
+    // The RIFF size field is 32 bits and counts everything after itself
+    private static final long MAX_DATA_BYTES = 0xFFFFFFFFL - (HEADER_SIZE - 8);
+
+    private final FileChannel channel;
+    private long dataBytes;
+    private boolean closed;
+
+    StreamingWavWriter(Path file, AudioFormat format) throws IOException {
+        if (format.getEncoding() != AudioFormat.Encoding.PCM_SIGNED || format.isBigEndian()) {
+            throw new IllegalArgumentException("Only little-endian signed PCM is supported: " + format);
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            writeFully(channel, header(format), 0);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Appends length bytes of PCM.
+     */
+    void write(byte[] pcm, int offset, int length) throws IOException {
+        if (dataBytes + length > MAX_DATA_BYTES) throw new IOException("WAV file would exceed 4 GiB");
+        writeFully(channel, ByteBuffer.wrap(pcm, offset, length), HEADER_SIZE + dataBytes);
+        dataBytes += length;
+    }
+
+    long dataBytes() {
+        return dataBytes;
+    }
+
+    /**
+     * Writes the sizes so far into the header and forces data and header to disk.
+     */
+    void checkpoint() throws IOException {
+        writeSizes(channel, dataBytes);
+        channel.force(false);
+    }
+
+    /**
+     * Writes the final sizes into the header, forces them to disk and closes the file.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        try {
+            checkpoint();
+        } finally {
+            channel.close();
+        }
+    }
+
+    static void writeSizes(FileChannel channel, long dataBytes) throws IOException {
+        ByteBuffer size = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+        size.putInt(0, (int) (HEADER_SIZE - 8 + dataBytes));
+        writeFully(channel, size, RIFF_SIZE_OFFSET);
+        size.clear().putInt(0, (int) dataBytes);
+        writeFully(channel, size, DATA_SIZE_OFFSET);
+    }
+
+    private static ByteBuffer header(AudioFormat format) {
+        int channels = format.getChannels();
+        int sampleRate = (int) format.getSampleRate();
+        int bits = format.getSampleSizeInBits();
+        int blockAlign = channels * bits / 8;
+        ByteBuffer b = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        b.put(new byte[] {'R', 'I', 'F', 'F'}).putInt(0).put(new byte[] {'W', 'A', 'V', 'E'});
+        b.put(new byte[] {'f', 'm', 't', ' '}).putInt(16)
+            .putShort((short) 1) // PCM
+            .putShort((short) channels)
+            .putInt(sampleRate)
+            .putInt(sampleRate * blockAlign)
+            .putShort((short) blockAlign)
+            .putShort((short) bits);
+        b.put(new byte[] {'d', 'a', 't', 'a'}).putInt(0);
+        return b.flip();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer b, long position) throws IOException {
+        while (b.hasRemaining()) {
+            position += channel.write(b, position);
+        }
+    }
+}
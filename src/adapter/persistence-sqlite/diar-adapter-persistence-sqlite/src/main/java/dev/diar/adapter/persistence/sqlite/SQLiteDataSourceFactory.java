@@ -2,11 +2,33 @@ package dev.diar.adapter.persistence.sqlite;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import org.sqlite.SQLiteConfig;
 
 import javax.sql.DataSource;
 import java.nio.file.Path;
+import java.util.Locale;
 
 public final class SQLiteDataSourceFactory {
+    private static final long MMAP_SIZE_BYTES = 256L * 1024 * 1024;
+    private static final int CACHE_SIZE_KIB = 16 * 1024;
+    private static final int BUSY_TIMEOUT_MS = 5000;
+    private static final int READER_POOL_SIZE = 4;
+
+    /**
+     * DEFAULT keeps one shared pool with SQLite's rollback journal.
+     * PERFORMANCE switches to WAL with a single-connection writer pool and a separate
+     * query_only reader pool, so reads never wait behind a commit.
+     */
+    public enum Profile {
+        DEFAULT,
+        PERFORMANCE;
+
+        public static Profile from(String name) {
+            if (name == null || name.isBlank()) return DEFAULT;
+            try { return Profile.valueOf(name.trim().toUpperCase(Locale.ROOT)); } catch (Exception ignored) { return DEFAULT; }
+        }
+    }
+
     private SQLiteDataSourceFactory() {}
 
     public static DataSource create(Path dbPath) {
@@ -17,4 +39,43 @@ public final class SQLiteDataSourceFactory {
         config.setPoolName("diar-sqlite-pool");
         return new HikariDataSource(config);
     }
+
+    public static SqliteDataSources create(Path dbPath, Profile profile) {
+        if (profile != Profile.PERFORMANCE) {
+            DataSource shared = create(dbPath);
+            return new SqliteDataSources(shared, shared);
+        }
+        String url = "jdbc:sqlite:" + dbPath.toAbsolutePath();
+
+        // Writer first: it switches the database file to WAL, which is persistent
+        SQLiteConfig writerPragmas = tunedPragmas();
+        writerPragmas.setJournalMode(SQLiteConfig.JournalMode.WAL);
+        HikariConfig writer = new HikariConfig();
+        writer.setJdbcUrl(url);
+        writer.setMaximumPoolSize(1);
+        writer.setPoolName("diar-sqlite-writer");
+        writer.setDataSourceProperties(writerPragmas.toProperties());
+        HikariDataSource writerDs = new HikariDataSource(writer);
+
+        HikariConfig reader = new HikariConfig();
+        reader.setJdbcUrl(url);
+        reader.setMaximumPoolSize(READER_POOL_SIZE);
+        reader.setPoolName("diar-sqlite-reader");
+        reader.setDataSourceProperties(tunedPragmas().toProperties());
+        reader.setConnectionInitSql("PRAGMA query_only = ON");
+        HikariDataSource readerDs = new HikariDataSource(reader);
+
+        return new SqliteDataSources(writerDs, readerDs);
+    }
+
+    private static SQLiteConfig tunedPragmas() {
+        SQLiteConfig pragmas = new SQLiteConfig();
+        pragmas.setSynchronous(SQLiteConfig.SynchronousMode.NORMAL);
+        pragmas.setTempStore(SQLiteConfig.TempStore.MEMORY);
+        // Negative cache_size is in KiB rather than pages
+        pragmas.setCacheSize(-CACHE_SIZE_KIB);
+        pragmas.setPragma(SQLiteConfig.Pragma.MMAP_SIZE, Long.toString(MMAP_SIZE_BYTES));
+        pragmas.setBusyTimeout(BUSY_TIMEOUT_MS);
+        return pragmas;
+    }
 }
@@ -0,0 +1,52 @@
+package dev.diar.adapter.persistence.sqlite;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+
+/**
+ * Writes a collection of rows through one prepared statement using JDBC batching.
+ * All chunks share a single transaction, so SQLite syncs once per call instead of once per row.
+ * If the connection is already inside a transaction the caller's transaction is reused.
+ */
+final class SqliteBatchWriter {
+    static final int DEFAULT_CHUNK_SIZE = 500;
+
+    @FunctionalInterface
+    interface Binder<T> {
+        void bind(PreparedStatement ps, T item) throws SQLException;
+    }
+
+    private SqliteBatchWriter() {}
+
+    static <T> void write(DataSource dataSource, String sql, Collection<? extends T> items, int chunkSize, Binder<T> binder) throws SQLException {
+        if (items.isEmpty()) return;
+        int chunk = Math.max(1, chunkSize);
+        try (Connection c = dataSource.getConnection()) {
+            boolean ownsTransaction = c.getAutoCommit();
+            if (ownsTransaction) c.setAutoCommit(false);
+            try (PreparedStatement ps = c.prepareStatement(sql)) {
+                int pending = 0;
+                for (T item : items) {
+                    binder.bind(ps, item);
+                    ps.addBatch();
+                    if (++pending >= chunk) {
+                        ps.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    ps.executeBatch();
+                }
+                if (ownsTransaction) c.commit();
+            } catch (SQLException | RuntimeException e) {
+                if (ownsTransaction) c.rollback();
+                throw e;
+            } finally {
+                if (ownsTransaction) c.setAutoCommit(true);
+            }
+        }
+    }
+}
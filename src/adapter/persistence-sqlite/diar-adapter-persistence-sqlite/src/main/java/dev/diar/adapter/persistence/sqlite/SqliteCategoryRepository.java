@@ -9,42 +9,66 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 
 public class SqliteCategoryRepository implements CategoryRepository {
     private final DataSource dataSource;
+    private final DataSource readDataSource;
+    private final int batchSize;
+    private static final String UPSERT_SQL =
+        "INSERT INTO categories(id, name, tower_block_target) VALUES(?, ?, ?) " +
+        "ON CONFLICT(id) DO UPDATE SET name=excluded.name, tower_block_target=excluded.tower_block_target";
 
     public SqliteCategoryRepository(DataSource dataSource) {
-        this.dataSource = Objects.requireNonNull(dataSource);
+        this(dataSource, SqliteBatchWriter.DEFAULT_CHUNK_SIZE);
+    }
+
+    public SqliteCategoryRepository(DataSource dataSource, int batchSize) {
+        this(new SqliteDataSources(dataSource, dataSource), batchSize);
+    }
+
+    public SqliteCategoryRepository(SqliteDataSources dataSources) {
+        this(dataSources, SqliteBatchWriter.DEFAULT_CHUNK_SIZE);
+    }
+
+    public SqliteCategoryRepository(SqliteDataSources dataSources, int batchSize) {
+        this.dataSource = dataSources.writer();
+        this.readDataSource = dataSources.reader();
+        this.batchSize = batchSize;
     }
 
     @Override
     public void save(Category category) {
-        String sql = "INSERT INTO categories(id, name, tower_block_target) VALUES(?, ?, ?) " +
-                     "ON CONFLICT(id) DO UPDATE SET name=excluded.name, tower_block_target=excluded.tower_block_target";
         try (Connection c = dataSource.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-            ps.setString(1, category.id());
-            ps.setString(2, category.name());
-            ps.setInt(3, category.towerBlockTarget());
+             PreparedStatement ps = c.prepareStatement(UPSERT_SQL)) {
+            bind(ps, category);
             ps.executeUpdate();
         } catch (Exception e) {
-            if (e instanceof SQLException se) {
-                String msg = se.getMessage();
-                if (msg != null && msg.toLowerCase().contains("unique") && msg.toLowerCase().contains("categories")) {
-                    throw new IllegalArgumentException("Category name already exists: " + category.name(), e);
-                }
+            if (isUniqueNameViolation(e)) {
+                throw new IllegalArgumentException("Category name already exists: " + category.name(), e);
             }
             throw new RuntimeException("Failed to save category", e);
         }
     }
 
+    @Override
+    public void saveAll(Collection<Category> categories) {
+        try {
+            SqliteBatchWriter.write(dataSource, UPSERT_SQL, categories, batchSize, this::bind);
+        } catch (Exception e) {
+            if (isUniqueNameViolation(e)) {
+                throw new IllegalArgumentException("Category name already exists", e);
+            }
+            throw new RuntimeException("Failed to save categories", e);
+        }
+    }
+
     @Override
     public Optional<Category> findById(String id) {
         String sql = "SELECT id, name, tower_block_target FROM categories WHERE id = ?";
-        try (Connection c = dataSource.getConnection();
+        try (Connection c = readDataSource.getConnection();
              PreparedStatement ps = c.prepareStatement(sql)) {
             ps.setString(1, id);
             try (ResultSet rs = ps.executeQuery()) {
@@ -62,7 +86,7 @@ public class SqliteCategoryRepository implements CategoryRepository {
     public List<Category> findAll() {
         String sql = "SELECT id, name, tower_block_target FROM categories ORDER BY name";
         List<Category> result = new ArrayList<>();
-        try (Connection c = dataSource.getConnection();
+        try (Connection c = readDataSource.getConnection();
              PreparedStatement ps = c.prepareStatement(sql);
              ResultSet rs = ps.executeQuery()) {
             while (rs.next()) {
@@ -86,7 +110,21 @@ public class SqliteCategoryRepository implements CategoryRepository {
         }
     }
 
-    private Category mapRow(ResultSet rs) throws Exception {
+    private void bind(PreparedStatement ps, Category category) throws SQLException {
+        ps.setString(1, category.id());
+        ps.setString(2, category.name());
+        ps.setInt(3, category.towerBlockTarget());
+    }
+
+    private static boolean isUniqueNameViolation(Exception e) {
+        if (e instanceof SQLException se) {
+            String msg = se.getMessage();
+            return msg != null && msg.toLowerCase().contains("unique") && msg.toLowerCase().contains("categories");
+        }
+        return false;
+    }
+
+    static Category mapRow(ResultSet rs) throws Exception {
         return new Category(
             rs.getString("id"),
             rs.getString("name"),
@@ -0,0 +1,80 @@
+package dev.diar.adapter.persistence.sqlite;
+
+import dev.diar.app.port.ChangeFeedPort;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Locale;
+
+/**
+ * Reads the entity_changes journal kept by the V10 triggers.
+ */
+public class SqliteChangeFeed implements ChangeFeedPort {
+    private static final int FETCH_SIZE = 256;
+
+    private final DataSource readDataSource;
+
+    public SqliteChangeFeed(DataSource dataSource) {
+        this(new SqliteDataSources(dataSource, dataSource));
+    }
+
+    public SqliteChangeFeed(SqliteDataSources dataSources) {
+        this.readDataSource = dataSources.reader();
+    }
+
+    @Override
+    public long lastSequence() {
+        String sql = "SELECT coalesce(max(seq), 0) FROM entity_changes";
+        try (Connection c = readDataSource.getConnection();
+             PreparedStatement ps = c.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : 0;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to read change sequence", e);
+        }
+    }
+
+    @Override
+    public void forEachChangeAfter(long sequence, Visitor visitor) {
+        String categories = "SELECT c.id, c.name, c.tower_block_target FROM entity_changes ch " +
+                            "JOIN categories c ON c.id = ch.entity_id " +
+                            "WHERE ch.entity = 'category' AND ch.seq > ? AND ch.deleted = 0 ORDER BY ch.seq";
+        String towers = "SELECT t.id, t.category_id, t.block_target, t.blocks_completed, t.completed_on FROM entity_changes ch " +
+                        "JOIN towers t ON t.id = ch.entity_id " +
+                        "WHERE ch.entity = 'tower' AND ch.seq > ? AND ch.deleted = 0 ORDER BY ch.seq";
+        // A take in progress is skipped; completing its row changes it again and reports it then
+        String recordings = "SELECT r.id, r.file_path, r.created_at, r.duration_seconds FROM entity_changes ch " +
+                            "JOIN recordings r ON r.id = ch.entity_id " +
+                            "WHERE ch.entity = 'recording' AND ch.seq > ? AND ch.deleted = 0 AND r.in_progress = 0 ORDER BY ch.seq";
+        String deletions = "SELECT entity, entity_id FROM entity_changes WHERE seq > ? AND deleted = 1 ORDER BY seq";
+        // A change made while this runs gets a later sequence and is reported again next time.
+        // Deletions go first: an entity recreated under a deleted one's unique name must not meet it on replay.
+        try (Connection c = readDataSource.getConnection()) {
+            forEachRow(c, deletions, sequence, rs -> visitor.deleted(
+                Entity.valueOf(rs.getString("entity").toUpperCase(Locale.ROOT)), rs.getString("entity_id")));
+            forEachRow(c, categories, sequence, rs -> visitor.category(SqliteCategoryRepository.mapRow(rs)));
+            forEachRow(c, towers, sequence, rs -> visitor.tower(SqliteTowerRepository.mapRow(rs)));
+            forEachRow(c, recordings, sequence, rs -> visitor.recording(SqliteRecordingRepository.mapRow(rs)));
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to read changes", e);
+        }
+    }
+
+    private interface RowHandler {
+        void accept(ResultSet rs) throws Exception;
+    }
+
+    private static void forEachRow(Connection c, String sql, long sequence, RowHandler handler) throws Exception {
+        try (PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setLong(1, sequence);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    handler.accept(rs);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package dev.diar.adapter.persistence.sqlite;
+
+import dev.diar.app.port.DashboardQueryPort;
+import dev.diar.core.model.Category;
+import dev.diar.core.model.Tower;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class SqliteDashboardQuery implements DashboardQueryPort {
+    private final DataSource readDataSource;
+
+    public SqliteDashboardQuery(DataSource dataSource) {
+        this(new SqliteDataSources(dataSource, dataSource));
+    }
+
+    public SqliteDashboardQuery(SqliteDataSources dataSources) {
+        this.readDataSource = dataSources.reader();
+    }
+
+    @Override
+    public List<CategoryTower> categoryTowers() {
+        // Join condition matches the ix_towers_active partial index
+        String sql = "SELECT c.id, c.name, c.tower_block_target, " +
+                     "t.id AS tower_id, t.block_target, t.blocks_completed " +
+                     "FROM categories c " +
+                     "LEFT JOIN towers t ON t.category_id = c.id AND t.completed_on IS NULL " +
+                     "ORDER BY c.name";
+        Map<String, CategoryTower> rows = new LinkedHashMap<>();
+        try (Connection c = readDataSource.getConnection();
+             PreparedStatement ps = c.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                Category category = new Category(rs.getString("id"), rs.getString("name"), rs.getInt("tower_block_target"));
+                String towerId = rs.getString("tower_id");
+                Tower active = towerId == null ? null : new Tower(
+                    towerId,
+                    category.id(),
+                    rs.getInt("block_target"),
+                    rs.getInt("blocks_completed"),
+                    null
+                );
+                // Keep the first active tower should a category ever have more than one
+                rows.putIfAbsent(category.id(), new CategoryTower(category, active));
+            }
+            return new ArrayList<>(rows.values());
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to load dashboard", e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package dev.diar.adapter.persistence.sqlite;
+
+import javax.sql.DataSource;
+import java.util.Objects;
+
+/**
+ * Write and read connection sources for one database file. Both may be the same pool.
+ */
+public record SqliteDataSources(DataSource writer, DataSource reader) {
+    public SqliteDataSources {
+        Objects.requireNonNull(writer, "writer");
+        Objects.requireNonNull(reader, "reader");
+    }
+}
@@ -7,46 +7,87 @@ import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
 
 public class SqliteLogRepository implements LogRepository {
     private final DataSource dataSource;
+    private final DataSource readDataSource;
+    private final int batchSize;
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
+    private static final int FETCH_SIZE = 256;
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    // Same day bucketing as the V8 triggers: the local date part of created_at
+    private static final String REBUILD_DAILY_COUNTS_SQL =
+        "INSERT INTO daily_block_counts(epoch_day, category_id, count) " +
+        "SELECT CAST(julianday(substr(created_at, 1, 10)) - 2440587.5 AS INTEGER), category_id, COUNT(*) " +
+        "FROM logs GROUP BY 1, 2";
+    // Entries are immutable, so an id already stored is kept and the new row skipped.
+    // seq is the next insertion sequence, one max() seek on ix_logs_seq per row.
+    private static final String INSERT_SQL =
+        "INSERT INTO logs(id, category_id, tower_id, note, created_at, created_at_ms, seq) " +
+        "VALUES(?, ?, ?, ?, ?, ?, (SELECT coalesce(max(seq), 0) + 1 FROM logs)) " +
+        "ON CONFLICT(id) DO NOTHING";
 
     public SqliteLogRepository(DataSource dataSource) {
-        this.dataSource = Objects.requireNonNull(dataSource);
+        this(dataSource, SqliteBatchWriter.DEFAULT_CHUNK_SIZE);
+    }
+
+    public SqliteLogRepository(DataSource dataSource, int batchSize) {
+        this(new SqliteDataSources(dataSource, dataSource), batchSize);
+    }
+
+    public SqliteLogRepository(SqliteDataSources dataSources) {
+        this(dataSources, SqliteBatchWriter.DEFAULT_CHUNK_SIZE);
+    }
+
+    public SqliteLogRepository(SqliteDataSources dataSources, int batchSize) {
+        this.dataSource = dataSources.writer();
+        this.readDataSource = dataSources.reader();
+        this.batchSize = batchSize;
     }
 
     @Override
     public void save(LogEntry logEntry) {
-        String sql = "INSERT INTO logs(id, category_id, note, created_at) VALUES(?, ?, ?, ?)";
         try (Connection c = dataSource.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-            ps.setString(1, logEntry.id());
-            ps.setString(2, logEntry.categoryId());
-            ps.setString(3, logEntry.note());
-            ps.setString(4, logEntry.createdAt().format(FORMATTER));
+             PreparedStatement ps = c.prepareStatement(INSERT_SQL)) {
+            bind(ps, logEntry);
             ps.executeUpdate();
         } catch (Exception e) {
             throw new RuntimeException("Failed to save log entry", e);
         }
     }
 
+    @Override
+    public void saveAll(Collection<LogEntry> logEntries) {
+        try {
+            SqliteBatchWriter.write(dataSource, INSERT_SQL, logEntries, batchSize, this::bind);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to save log entries", e);
+        }
+    }
+
     @Override
     public List<LogEntry> findByCategory(String categoryId, ZonedDateTime fromInclusive, ZonedDateTime toExclusive) {
-        String sql = "SELECT id, category_id, note, created_at FROM logs " +
-                     "WHERE category_id = ? AND created_at >= ? AND created_at < ? " +
-                     "ORDER BY created_at DESC";
+        String sql = "SELECT id, category_id, tower_id, note, created_at FROM logs " +
+                     "WHERE category_id = ? AND created_at_ms >= ? AND created_at_ms < ? " +
+                     "ORDER BY created_at_ms DESC";
         List<LogEntry> result = new ArrayList<>();
-        try (Connection c = dataSource.getConnection();
+        try (Connection c = readDataSource.getConnection();
              PreparedStatement ps = c.prepareStatement(sql)) {
             ps.setString(1, categoryId);
-            ps.setString(2, fromInclusive.format(FORMATTER));
-            ps.setString(3, toExclusive.format(FORMATTER));
+            ps.setLong(2, fromInclusive.toInstant().toEpochMilli());
+            ps.setLong(3, toExclusive.toInstant().toEpochMilli());
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
                     result.add(mapRow(rs));
@@ -58,10 +99,257 @@ public class SqliteLogRepository implements LogRepository {
         }
     }
 
+    @Override
+    public List<LogEntry> findByTower(String towerId) {
+        String sql = "SELECT id, category_id, tower_id, note, created_at FROM logs " +
+                     "WHERE tower_id = ? ORDER BY created_at_ms ASC, id ASC";
+        List<LogEntry> result = new ArrayList<>();
+        try (Connection c = readDataSource.getConnection();
+             PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setString(1, towerId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    result.add(mapRow(rs));
+                }
+            }
+            return result;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to find logs by tower", e);
+        }
+    }
+
+    @Override
+    public List<LogEntry> findRange(ZonedDateTime fromInclusive, ZonedDateTime toExclusive, int limit) {
+        String sql = "SELECT id, category_id, tower_id, note, created_at FROM logs " +
+                     "WHERE created_at_ms >= ? AND created_at_ms < ? " +
+                     "ORDER BY created_at_ms DESC, id DESC LIMIT ?";
+        List<LogEntry> result = new ArrayList<>();
+        if (limit <= 0) return result;
+        try (Connection c = readDataSource.getConnection();
+             PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setLong(1, fromInclusive.toInstant().toEpochMilli());
+            ps.setLong(2, toExclusive.toInstant().toEpochMilli());
+            ps.setInt(3, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    result.add(mapRow(rs));
+                }
+            }
+            return result;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to find logs in range", e);
+        }
+    }
+
+    @Override
+    public List<LogEntry> findPage(String categoryId, ZonedDateTime fromInclusive, ZonedDateTime toExclusive, PageKey after, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT id, category_id, tower_id, note, created_at FROM logs WHERE ");
+        if (categoryId != null) sql.append("category_id = ? AND ");
+        sql.append("created_at_ms >= ? AND created_at_ms < ? ");
+        if (after != null) sql.append("AND (created_at_ms, id) < (?, ?) ");
+        sql.append("ORDER BY created_at_ms DESC, id DESC LIMIT ?");
+        List<LogEntry> result = new ArrayList<>();
+        if (limit <= 0) return result;
+        try (Connection c = readDataSource.getConnection();
+             PreparedStatement ps = c.prepareStatement(sql.toString())) {
+            int i = 1;
+            if (categoryId != null) ps.setString(i++, categoryId);
+            ps.setLong(i++, fromInclusive.toInstant().toEpochMilli());
+            ps.setLong(i++, toExclusive.toInstant().toEpochMilli());
+            if (after != null) {
+                ps.setLong(i++, after.createdAtMillis());
+                ps.setString(i++, after.id());
+            }
+            ps.setInt(i, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    result.add(mapRow(rs));
+                }
+            }
+            return result;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to find log page", e);
+        }
+    }
+
+    @Override
+    public List<LogEntry> searchNotes(String query, ZonedDateTime fromInclusive, ZonedDateTime toExclusive, int limit) {
+        String sql = "SELECT l.id, l.category_id, l.tower_id, l.note, l.created_at FROM logs_fts " +
+                     "JOIN logs l ON l.id = logs_fts.log_id " +
+                     "WHERE logs_fts MATCH ? AND l.created_at_ms >= ? AND l.created_at_ms < ? " +
+                     "ORDER BY bm25(logs_fts), l.created_at_ms DESC LIMIT ?";
+        List<LogEntry> result = new ArrayList<>();
+        String match = toMatchExpression(query);
+        if (match == null || limit <= 0) return result;
+        try (Connection c = readDataSource.getConnection();
+             PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setString(1, match);
+            ps.setLong(2, fromInclusive.toInstant().toEpochMilli());
+            ps.setLong(3, toExclusive.toInstant().toEpochMilli());
+            ps.setInt(4, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    result.add(mapRow(rs));
+                }
+            }
+            return result;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to search log notes", e);
+        }
+    }
+
+    @Override
+    public void forEachByCategory(String categoryId, ZonedDateTime fromInclusive, ZonedDateTime toExclusive, Consumer<LogEntry> visitor) {
+        String sql = "SELECT id, category_id, tower_id, note, created_at FROM logs " +
+                     "WHERE category_id = ? AND created_at_ms >= ? AND created_at_ms < ? " +
+                     "ORDER BY created_at_ms ASC";
+        try (Connection c = readDataSource.getConnection();
+             PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setString(1, categoryId);
+            ps.setLong(2, fromInclusive.toInstant().toEpochMilli());
+            ps.setLong(3, toExclusive.toInstant().toEpochMilli());
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    visitor.accept(mapRow(rs));
+                }
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to stream logs by category", e);
+        }
+    }
+
+    @Override
+    public long countByCategory(String categoryId, ZonedDateTime fromInclusive, ZonedDateTime toExclusive) {
+        // Answered from the (category_id, created_at_ms, id) index alone, no rows are read
+        String sql = "SELECT COUNT(*) FROM logs WHERE category_id = ? AND created_at_ms >= ? AND created_at_ms < ?";
+        try (Connection c = readDataSource.getConnection();
+             PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setString(1, categoryId);
+            ps.setLong(2, fromInclusive.toInstant().toEpochMilli());
+            ps.setLong(3, toExclusive.toInstant().toEpochMilli());
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to count logs by category", e);
+        }
+    }
+
+    @Override
+    public long lastSequence() {
+        // seq only grows and, unlike the rowid, survives VACUUM
+        String sql = "SELECT coalesce(max(seq), 0) FROM logs";
+        try (Connection c = readDataSource.getConnection();
+             PreparedStatement ps = c.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : 0;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to read log sequence", e);
+        }
+    }
+
+    @Override
+    public void forEachAddedAfter(long sequence, Consumer<LogEntry> visitor) {
+        String sql = "SELECT id, category_id, tower_id, note, created_at FROM logs " +
+                     "WHERE seq > ? ORDER BY seq";
+        try (Connection c = readDataSource.getConnection();
+             PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setLong(1, sequence);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    visitor.accept(mapRow(rs));
+                }
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to stream added logs", e);
+        }
+    }
+
+    @Override
+    public Map<LocalDate, Long> countPerLocalDay(LocalDate fromInclusive, LocalDate toInclusive) {
+        String sql = "SELECT epoch_day, SUM(count) AS n FROM daily_block_counts " +
+                     "WHERE epoch_day >= ? AND epoch_day <= ? " +
+                     "GROUP BY epoch_day HAVING n > 0 ORDER BY epoch_day";
+        Map<LocalDate, Long> result = new LinkedHashMap<>();
+        try (Connection c = readDataSource.getConnection();
+             PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setLong(1, fromInclusive.toEpochDay());
+            ps.setLong(2, toInclusive.toEpochDay());
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    result.put(LocalDate.ofEpochDay(rs.getLong("epoch_day")), rs.getLong("n"));
+                }
+            }
+            return result;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to read daily block counts", e);
+        }
+    }
+
+    @Override
+    public void rebuildDailyCounts() {
+        try (Connection c = dataSource.getConnection()) {
+            boolean ownsTransaction = c.getAutoCommit();
+            if (ownsTransaction) c.setAutoCommit(false);
+            try (Statement st = c.createStatement()) {
+                st.executeUpdate("DELETE FROM daily_block_counts");
+                st.executeUpdate(REBUILD_DAILY_COUNTS_SQL);
+                if (ownsTransaction) c.commit();
+            } catch (SQLException | RuntimeException e) {
+                if (ownsTransaction) c.rollback();
+                throw e;
+            } finally {
+                if (ownsTransaction) c.setAutoCommit(true);
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to rebuild daily block counts", e);
+        }
+    }
+
+    @Override
+    public boolean dailyCountsMatch() {
+        // logs is counted from its (category_id, created_at_ms, id) index and the rollup is small
+        String sql =
+            "WITH l AS (SELECT category_id, COUNT(*) AS n FROM logs GROUP BY category_id), " +
+            "d AS (SELECT category_id, SUM(count) AS n FROM daily_block_counts GROUP BY category_id HAVING SUM(count) <> 0) " +
+            "SELECT NOT EXISTS (SELECT * FROM l EXCEPT SELECT * FROM d) AND NOT EXISTS (SELECT * FROM d EXCEPT SELECT * FROM l)";
+        try (Connection c = readDataSource.getConnection();
+             PreparedStatement ps = c.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            return rs.next() && rs.getBoolean(1);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to check daily block counts", e);
+        }
+    }
+
+    // Each word becomes a quoted prefix term so user input never reaches the FTS5 query syntax
+    private static String toMatchExpression(String query) {
+        if (query == null) return null;
+        StringBuilder match = new StringBuilder();
+        for (String word : WORD_SEPARATOR.split(query)) {
+            if (word.isEmpty()) continue;
+            if (match.length() > 0) match.append(' ');
+            match.append('"').append(word).append("\"*");
+        }
+        return match.length() == 0 ? null : match.toString();
+    }
+
+    private void bind(PreparedStatement ps, LogEntry logEntry) throws SQLException {
+        ps.setString(1, logEntry.id());
+        ps.setString(2, logEntry.categoryId());
+        ps.setString(3, logEntry.towerId());
+        ps.setString(4, logEntry.note());
+        ps.setString(5, logEntry.createdAt().format(FORMATTER));
+        ps.setLong(6, logEntry.createdAt().toInstant().toEpochMilli());
+    }
+
     private LogEntry mapRow(ResultSet rs) throws Exception {
         return new LogEntry(
             rs.getString("id"),
             rs.getString("category_id"),
+            rs.getString("tower_id"),
             rs.getString("note"),
             ZonedDateTime.parse(rs.getString("created_at"), FORMATTER)
         );
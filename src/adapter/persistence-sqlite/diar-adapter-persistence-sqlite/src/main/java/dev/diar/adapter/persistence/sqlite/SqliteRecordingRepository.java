@@ -7,36 +7,50 @@ import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Types;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 
 public class SqliteRecordingRepository implements RecordingRepository {
     private final DataSource dataSource;
+    private final DataSource readDataSource;
+    private final int batchSize;
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
+    private static final String UPSERT_SQL =
+        "INSERT INTO recordings(id, file_path, created_at, duration_seconds, in_progress) VALUES(?, ?, ?, ?, 0) " +
+        "ON CONFLICT(id) DO UPDATE SET file_path=excluded.file_path, created_at=excluded.created_at, duration_seconds=excluded.duration_seconds, in_progress=0";
+    private static final String IN_PROGRESS_SQL =
+        "INSERT INTO recordings(id, file_path, created_at, duration_seconds, in_progress) VALUES(?, ?, ?, ?, 1) " +
+        "ON CONFLICT(id) DO UPDATE SET file_path=excluded.file_path, created_at=excluded.created_at, duration_seconds=excluded.duration_seconds, in_progress=1";
 
     public SqliteRecordingRepository(DataSource dataSource) {
-        this.dataSource = Objects.requireNonNull(dataSource);
+        this(dataSource, SqliteBatchWriter.DEFAULT_CHUNK_SIZE);
+    }
+
+    public SqliteRecordingRepository(DataSource dataSource, int batchSize) {
+        this(new SqliteDataSources(dataSource, dataSource), batchSize);
+    }
+
+    public SqliteRecordingRepository(SqliteDataSources dataSources) {
+        this(dataSources, SqliteBatchWriter.DEFAULT_CHUNK_SIZE);
+    }
+
+    public SqliteRecordingRepository(SqliteDataSources dataSources, int batchSize) {
+        this.dataSource = dataSources.writer();
+        this.readDataSource = dataSources.reader();
+        this.batchSize = batchSize;
     }
 
     @Override
     public void save(Recording recording) {
-        String sql = "INSERT INTO recordings(id, file_path, created_at, duration_seconds) VALUES(?, ?, ?, ?) " +
-                     "ON CONFLICT(id) DO UPDATE SET file_path=excluded.file_path, created_at=excluded.created_at, duration_seconds=excluded.duration_seconds";
         try (Connection c = dataSource.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-            ps.setString(1, recording.id());
-            ps.setString(2, recording.filePath());
-            ps.setString(3, recording.createdAt().format(FORMATTER));
-            if (recording.durationSeconds() != null) {
-                ps.setInt(4, recording.durationSeconds());
-            } else {
-                ps.setNull(4, Types.INTEGER);
-            }
+             PreparedStatement ps = c.prepareStatement(UPSERT_SQL)) {
+            bind(ps, recording);
             ps.executeUpdate();
         } catch (Exception e) {
             throw new RuntimeException("Failed to save recording", e);
@@ -44,9 +58,34 @@ public class SqliteRecordingRepository implements RecordingRepository {
     }
 
     @Override
-    public Optional<Recording> findById(String id) {
-        String sql = "SELECT id, file_path, created_at, duration_seconds FROM recordings WHERE id = ?";
+    public void saveAll(Collection<Recording> recordings) {
+        try {
+            SqliteBatchWriter.write(dataSource, UPSERT_SQL, recordings, batchSize, this::bind);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to save recordings", e);
+        }
+    }
+
+    @Override
+    public void saveInProgress(Recording recording) {
         try (Connection c = dataSource.getConnection();
+             PreparedStatement ps = c.prepareStatement(IN_PROGRESS_SQL)) {
+            bind(ps, recording);
+            ps.executeUpdate();
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to save recording", e);
+        }
+    }
+
+    @Override
+    public List<Recording> findInProgress() {
+        return query("SELECT id, file_path, created_at, duration_seconds FROM recordings WHERE in_progress = 1", "Failed to find recordings in progress");
+    }
+
+    @Override
+    public Optional<Recording> findById(String id) {
+        String sql = "SELECT id, file_path, created_at, duration_seconds FROM recordings WHERE id = ? AND in_progress = 0";
+        try (Connection c = readDataSource.getConnection();
              PreparedStatement ps = c.prepareStatement(sql)) {
             ps.setString(1, id);
             try (ResultSet rs = ps.executeQuery()) {
@@ -62,9 +101,12 @@ public class SqliteRecordingRepository implements RecordingRepository {
 
     @Override
     public List<Recording> findAll() {
-        String sql = "SELECT id, file_path, created_at, duration_seconds FROM recordings ORDER BY created_at DESC";
+        return query("SELECT id, file_path, created_at, duration_seconds FROM recordings WHERE in_progress = 0 ORDER BY created_at DESC", "Failed to find all recordings");
+    }
+
+    private List<Recording> query(String sql, String failure) {
         List<Recording> result = new ArrayList<>();
-        try (Connection c = dataSource.getConnection();
+        try (Connection c = readDataSource.getConnection();
              PreparedStatement ps = c.prepareStatement(sql);
              ResultSet rs = ps.executeQuery()) {
             while (rs.next()) {
@@ -72,7 +114,7 @@ public class SqliteRecordingRepository implements RecordingRepository {
             }
             return result;
         } catch (Exception e) {
-            throw new RuntimeException("Failed to find all recordings", e);
+            throw new RuntimeException(failure, e);
         }
     }
 
@@ -88,7 +130,18 @@ public class SqliteRecordingRepository implements RecordingRepository {
         }
     }
 
-    private Recording mapRow(ResultSet rs) throws Exception {
+    private void bind(PreparedStatement ps, Recording recording) throws SQLException {
+        ps.setString(1, recording.id());
+        ps.setString(2, recording.filePath());
+        ps.setString(3, recording.createdAt().format(FORMATTER));
+        if (recording.durationSeconds() != null) {
+            ps.setInt(4, recording.durationSeconds());
+        } else {
+            ps.setNull(4, Types.INTEGER);
+        }
+    }
+
+    static Recording mapRow(ResultSet rs) throws Exception {
         Integer durationSeconds = rs.getInt("duration_seconds");
         if (rs.wasNull()) {
             durationSeconds = null;
@@ -6,20 +6,28 @@ import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.util.Objects;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 
 public class SqliteSettingsRepository implements SettingsRepository {
     private final DataSource dataSource;
+    private final DataSource readDataSource;
+    private static final String UPSERT_SQL = "INSERT INTO settings(key, value) VALUES(?, ?) ON CONFLICT(key) DO UPDATE SET value=excluded.value";
 
     public SqliteSettingsRepository(DataSource dataSource) {
-        this.dataSource = Objects.requireNonNull(dataSource);
+        this(new SqliteDataSources(dataSource, dataSource));
+    }
+
+    public SqliteSettingsRepository(SqliteDataSources dataSources) {
+        this.dataSource = dataSources.writer();
+        this.readDataSource = dataSources.reader();
     }
 
     @Override
     public void put(String key, String value) {
         try (Connection c = dataSource.getConnection()) {
-            try (PreparedStatement ps = c.prepareStatement("INSERT INTO settings(key, value) VALUES(?, ?) ON CONFLICT(key) DO UPDATE SET value=excluded.value")) {
+            try (PreparedStatement ps = c.prepareStatement(UPSERT_SQL)) {
                 ps.setString(1, key);
                 ps.setString(2, value);
                 ps.executeUpdate();
@@ -29,9 +37,21 @@ public class SqliteSettingsRepository implements SettingsRepository {
         }
     }
 
+    @Override
+    public void putAll(Map<String, String> values) {
+        try {
+            SqliteBatchWriter.<Map.Entry<String, String>>write(dataSource, UPSERT_SQL, values.entrySet(), SqliteBatchWriter.DEFAULT_CHUNK_SIZE, (ps, entry) -> {
+                ps.setString(1, entry.getKey());
+                ps.setString(2, entry.getValue());
+            });
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to save settings", e);
+        }
+    }
+
     @Override
     public Optional<String> get(String key) {
-        try (Connection c = dataSource.getConnection()) {
+        try (Connection c = readDataSource.getConnection()) {
             try (PreparedStatement ps = c.prepareStatement("SELECT value FROM settings WHERE key = ?")) {
                 ps.setString(1, key);
                 try (ResultSet rs = ps.executeQuery()) {
@@ -45,4 +65,19 @@ public class SqliteSettingsRepository implements SettingsRepository {
             throw new RuntimeException("Failed to read setting", e);
         }
     }
+
+    @Override
+    public Map<String, String> getAll() {
+        Map<String, String> result = new LinkedHashMap<>();
+        try (Connection c = readDataSource.getConnection();
+             PreparedStatement ps = c.prepareStatement("SELECT key, value FROM settings");
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                result.put(rs.getString(1), rs.getString(2));
+            }
+            return result;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to read settings", e);
+        }
+    }
 }
@@ -7,46 +7,68 @@ import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Types;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
+import java.util.Optional;
 
 public class SqliteTowerRepository implements TowerRepository {
     private final DataSource dataSource;
+    private final DataSource readDataSource;
+    private final int batchSize;
+    private static final String UPSERT_SQL =
+        "INSERT INTO towers(id, category_id, block_target, blocks_completed, completed_on) VALUES(?, ?, ?, ?, ?) " +
+        "ON CONFLICT(id) DO UPDATE SET blocks_completed=excluded.blocks_completed, completed_on=excluded.completed_on";
 
     public SqliteTowerRepository(DataSource dataSource) {
-        this.dataSource = Objects.requireNonNull(dataSource);
+        this(dataSource, SqliteBatchWriter.DEFAULT_CHUNK_SIZE);
+    }
+
+    public SqliteTowerRepository(DataSource dataSource, int batchSize) {
+        this(new SqliteDataSources(dataSource, dataSource), batchSize);
+    }
+
+    public SqliteTowerRepository(SqliteDataSources dataSources) {
+        this(dataSources, SqliteBatchWriter.DEFAULT_CHUNK_SIZE);
+    }
+
+    public SqliteTowerRepository(SqliteDataSources dataSources, int batchSize) {
+        this.dataSource = dataSources.writer();
+        this.readDataSource = dataSources.reader();
+        this.batchSize = batchSize;
     }
 
     @Override
     public void save(Tower tower) {
-        String sql = "INSERT INTO towers(id, category_id, block_target, blocks_completed, completed_on) VALUES(?, ?, ?, ?, ?) " +
-                     "ON CONFLICT(id) DO UPDATE SET blocks_completed=excluded.blocks_completed, completed_on=excluded.completed_on";
         try (Connection c = dataSource.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-            ps.setString(1, tower.id());
-            ps.setString(2, tower.categoryId());
-            ps.setInt(3, tower.blockTarget());
-            ps.setInt(4, tower.blocksCompleted());
-            if (tower.completedOn() != null) {
-                ps.setString(5, tower.completedOn().toString());
-            } else {
-                ps.setNull(5, Types.VARCHAR);
-            }
+             PreparedStatement ps = c.prepareStatement(UPSERT_SQL)) {
+            bind(ps, tower);
             ps.executeUpdate();
         } catch (Exception e) {
             throw new RuntimeException("Failed to save tower", e);
         }
     }
 
+    @Override
+    public void saveAll(Collection<Tower> towers) {
+        try {
+            SqliteBatchWriter.write(dataSource, UPSERT_SQL, towers, batchSize, this::bind);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to save towers", e);
+        }
+    }
+
     @Override
     public List<Tower> findByCategory(String categoryId) {
         String sql = "SELECT id, category_id, block_target, blocks_completed, completed_on " +
                      "FROM towers WHERE category_id = ? ORDER BY completed_on DESC NULLS FIRST";
         List<Tower> result = new ArrayList<>();
-        try (Connection c = dataSource.getConnection();
+        try (Connection c = readDataSource.getConnection();
              PreparedStatement ps = c.prepareStatement(sql)) {
             ps.setString(1, categoryId);
             try (ResultSet rs = ps.executeQuery()) {
@@ -60,7 +82,55 @@ public class SqliteTowerRepository implements TowerRepository {
         }
     }
 
-    private Tower mapRow(ResultSet rs) throws Exception {
+    @Override
+    public Optional<Tower> findActive(String categoryId) {
+        String sql = "SELECT id, category_id, block_target, blocks_completed, completed_on " +
+                     "FROM towers WHERE category_id = ? AND completed_on IS NULL LIMIT 1";
+        try (Connection c = readDataSource.getConnection();
+             PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setString(1, categoryId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? Optional.of(mapRow(rs)) : Optional.empty();
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to find active tower", e);
+        }
+    }
+
+    @Override
+    public Map<LocalDate, Long> countCompletedPerDay(LocalDate fromInclusive, LocalDate toInclusive) {
+        String sql = "SELECT completed_on, COUNT(*) AS n FROM towers " +
+                     "WHERE completed_on >= ? AND completed_on <= ? " +
+                     "GROUP BY completed_on ORDER BY completed_on";
+        Map<LocalDate, Long> result = new LinkedHashMap<>();
+        try (Connection c = readDataSource.getConnection();
+             PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setString(1, fromInclusive.toString());
+            ps.setString(2, toInclusive.toString());
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    result.put(LocalDate.parse(rs.getString("completed_on")), rs.getLong("n"));
+                }
+            }
+            return result;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to count completed towers per day", e);
+        }
+    }
+
+    private void bind(PreparedStatement ps, Tower tower) throws SQLException {
+        ps.setString(1, tower.id());
+        ps.setString(2, tower.categoryId());
+        ps.setInt(3, tower.blockTarget());
+        ps.setInt(4, tower.blocksCompleted());
+        if (tower.completedOn() != null) {
+            ps.setString(5, tower.completedOn().toString());
+        } else {
+            ps.setNull(5, Types.VARCHAR);
+        }
+    }
+
+    static Tower mapRow(ResultSet rs) throws Exception {
         String completedOnStr = rs.getString("completed_on");
         LocalDate completedOn = completedOnStr != null ? LocalDate.parse(completedOnStr) : null;
         return new Tower(
@@ -0,0 +1,140 @@
+package dev.diar.adapter.persistence.sqlite;
+
+import dev.diar.app.port.TransactionRunner;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Binds one writer connection to the calling thread for the length of a transaction.
+ * Repositories must be built from {@link #dataSources()} so that, while a transaction is open,
+ * both their reads and writes go through the bound connection and see each other's changes.
+ */
+public final class SqliteTransactionRunner implements TransactionRunner {
+    private final DataSource writer;
+    private final SqliteDataSources boundDataSources;
+    private final ThreadLocal<Connection> current = new ThreadLocal<>();
+
+    public SqliteTransactionRunner(SqliteDataSources dataSources) {
+        this.writer = dataSources.writer();
+        this.boundDataSources = new SqliteDataSources(
+            new BoundDataSource(dataSources.writer()),
+            new BoundDataSource(dataSources.reader())
+        );
+    }
+
+    public SqliteDataSources dataSources() {
+        return boundDataSources;
+    }
+
+    @Override
+    public <T> T inTransaction(Supplier<T> work) {
+        if (current.get() != null) {
+            return work.get();
+        }
+        try (Connection c = writer.getConnection()) {
+            c.setAutoCommit(false);
+            current.set(c);
+            try {
+                T result = work.get();
+                c.commit();
+                return result;
+            } catch (RuntimeException | Error e) {
+                rollbackQuietly(c, e);
+                throw e;
+            } finally {
+                current.remove();
+                c.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to run transaction", e);
+        }
+    }
+
+    private static void rollbackQuietly(Connection c, Throwable cause) {
+        try {
+            c.rollback();
+        } catch (SQLException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    // Hands out the bound connection, wrapped so callers' try-with-resources does not close it
+    private Connection boundConnection() {
+        Connection bound = current.get();
+        if (bound == null) return null;
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[] { Connection.class },
+            (proxy, method, args) -> {
+                if (method.getName().equals("close") && method.getParameterCount() == 0) return null;
+                try {
+                    return method.invoke(bound, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+    }
+
+    private final class BoundDataSource implements DataSource {
+        private final DataSource delegate;
+
+        BoundDataSource(DataSource delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection bound = boundConnection();
+            return bound != null ? bound : delegate.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            Connection bound = boundConnection();
+            return bound != null ? bound : delegate.getConnection(username, password);
+        }
+
+        @Override
+        public PrintWriter getLogWriter() throws SQLException {
+            return delegate.getLogWriter();
+        }
+
+        @Override
+        public void setLogWriter(PrintWriter out) throws SQLException {
+            delegate.setLogWriter(out);
+        }
+
+        @Override
+        public void setLoginTimeout(int seconds) throws SQLException {
+            delegate.setLoginTimeout(seconds);
+        }
+
+        @Override
+        public int getLoginTimeout() throws SQLException {
+            return delegate.getLoginTimeout();
+        }
+
+        @Override
+        public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            return delegate.getParentLogger();
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> iface) throws SQLException {
+            return iface.isInstance(delegate) ? iface.cast(delegate) : delegate.unwrap(iface);
+        }
+
+        @Override
+        public boolean isWrapperFor(Class<?> iface) throws SQLException {
+            return iface.isInstance(delegate) || delegate.isWrapperFor(iface);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+-- Change journal for incremental exports: one row per category, tower and recording holding the
+-- sequence number of its latest insert, update or delete. Rewriting the row on every change keeps
+-- the table as small as the entities themselves. Logs are append-only and carry their own
+-- insertion sequence, the seq column added in V11.
+
+CREATE TABLE IF NOT EXISTS entity_changes (
+    entity TEXT NOT NULL,
+    entity_id TEXT NOT NULL,
+    seq INTEGER NOT NULL,
+    deleted INTEGER NOT NULL DEFAULT 0,
+    PRIMARY KEY (entity, entity_id)
+) WITHOUT ROWID;
+
+CREATE INDEX IF NOT EXISTS ix_entity_changes_seq ON entity_changes(seq);
+
+CREATE TRIGGER IF NOT EXISTS trg_categories_change_insert AFTER INSERT ON categories
+BEGIN
+    INSERT INTO entity_changes(entity, entity_id, seq, deleted)
+    VALUES ('category', new.id, (SELECT coalesce(max(seq), 0) + 1 FROM entity_changes), 0)
+    ON CONFLICT(entity, entity_id) DO UPDATE SET seq = excluded.seq, deleted = 0;
+END;
+
+CREATE TRIGGER IF NOT EXISTS trg_categories_change_update AFTER UPDATE ON categories
+BEGIN
+    INSERT INTO entity_changes(entity, entity_id, seq, deleted)
+    VALUES ('category', new.id, (SELECT coalesce(max(seq), 0) + 1 FROM entity_changes), 0)
+    ON CONFLICT(entity, entity_id) DO UPDATE SET seq = excluded.seq, deleted = 0;
+END;
+
+CREATE TRIGGER IF NOT EXISTS trg_categories_change_delete AFTER DELETE ON categories
+BEGIN
+    INSERT INTO entity_changes(entity, entity_id, seq, deleted)
+    VALUES ('category', old.id, (SELECT coalesce(max(seq), 0) + 1 FROM entity_changes), 1)
+    ON CONFLICT(entity, entity_id) DO UPDATE SET seq = excluded.seq, deleted = 1;
+END;
+
+CREATE TRIGGER IF NOT EXISTS trg_towers_change_insert AFTER INSERT ON towers
+BEGIN
+    INSERT INTO entity_changes(entity, entity_id, seq, deleted)
+    VALUES ('tower', new.id, (SELECT coalesce(max(seq), 0) + 1 FROM entity_changes), 0)
+    ON CONFLICT(entity, entity_id) DO UPDATE SET seq = excluded.seq, deleted = 0;
+END;
+
+CREATE TRIGGER IF NOT EXISTS trg_towers_change_update AFTER UPDATE ON towers
+BEGIN
+    INSERT INTO entity_changes(entity, entity_id, seq, deleted)
+    VALUES ('tower', new.id, (SELECT coalesce(max(seq), 0) + 1 FROM entity_changes), 0)
+    ON CONFLICT(entity, entity_id) DO UPDATE SET seq = excluded.seq, deleted = 0;
+END;
+
+CREATE TRIGGER IF NOT EXISTS trg_towers_change_delete AFTER DELETE ON towers
+BEGIN
+    INSERT INTO entity_changes(entity, entity_id, seq, deleted)
+    VALUES ('tower', old.id, (SELECT coalesce(max(seq), 0) + 1 FROM entity_changes), 1)
+    ON CONFLICT(entity, entity_id) DO UPDATE SET seq = excluded.seq, deleted = 1;
+END;
+
+CREATE TRIGGER IF NOT EXISTS trg_recordings_change_insert AFTER INSERT ON recordings
+BEGIN
+    INSERT INTO entity_changes(entity, entity_id, seq, deleted)
+    VALUES ('recording', new.id, (SELECT coalesce(max(seq), 0) + 1 FROM entity_changes), 0)
+    ON CONFLICT(entity, entity_id) DO UPDATE SET seq = excluded.seq, deleted = 0;
+END;
+
+CREATE TRIGGER IF NOT EXISTS trg_recordings_change_update AFTER UPDATE ON recordings
+BEGIN
+    INSERT INTO entity_changes(entity, entity_id, seq, deleted)
+    VALUES ('recording', new.id, (SELECT coalesce(max(seq), 0) + 1 FROM entity_changes), 0)
+    ON CONFLICT(entity, entity_id) DO UPDATE SET seq = excluded.seq, deleted = 0;
+END;
+
+CREATE TRIGGER IF NOT EXISTS trg_recordings_change_delete AFTER DELETE ON recordings
+BEGIN
+    INSERT INTO entity_changes(entity, entity_id, seq, deleted)
+    VALUES ('recording', old.id, (SELECT coalesce(max(seq), 0) + 1 FROM entity_changes), 1)
+    ON CONFLICT(entity, entity_id) DO UPDATE SET seq = excluded.seq, deleted = 1;
+END;
+
+-- Everything already stored counts as changed once, so the first incremental export is complete
+INSERT INTO entity_changes(entity, entity_id, seq, deleted) SELECT 'category', id, 1, 0 FROM categories;
+INSERT INTO entity_changes(entity, entity_id, seq, deleted) SELECT 'tower', id, 1, 0 FROM towers;
+INSERT INTO entity_changes(entity, entity_id, seq, deleted) SELECT 'recording', id, 1, 0 FROM recordings;
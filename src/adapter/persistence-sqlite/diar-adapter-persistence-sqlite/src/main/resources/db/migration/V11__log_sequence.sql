@@ -0,0 +1,8 @@
+-- Insertion sequence for incremental exports. logs has no INTEGER PRIMARY KEY, so VACUUM may
+-- renumber its rowid; an ordinary column keeps its values. Existing rows take their current rowid,
+-- which keeps watermarks recorded against the rowid valid.
+ALTER TABLE logs ADD COLUMN seq INTEGER;
+
+UPDATE logs SET seq = rowid;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ix_logs_seq ON logs(seq);
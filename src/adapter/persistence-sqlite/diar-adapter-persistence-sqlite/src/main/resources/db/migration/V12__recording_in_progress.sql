@@ -0,0 +1,3 @@
+-- Marks the row of a take still being captured. Listings and exports leave such rows out, and
+-- startup recovery completes or drops only them, never a finished recording whose file is missing.
+ALTER TABLE recordings ADD COLUMN in_progress INTEGER NOT NULL DEFAULT 0;
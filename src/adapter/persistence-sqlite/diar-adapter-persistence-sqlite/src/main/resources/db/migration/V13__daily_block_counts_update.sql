@@ -0,0 +1,20 @@
+-- V8 kept daily_block_counts current on insert and delete only; a log moved to another day or
+-- category left its old count in place. This trigger moves the count with it, and the rollup is
+-- rebuilt once so counts that drifted before are right again.
+
+CREATE TRIGGER IF NOT EXISTS trg_logs_daily_count_update AFTER UPDATE OF created_at, category_id ON logs
+BEGIN
+    UPDATE daily_block_counts SET count = count - 1
+    WHERE epoch_day = CAST(julianday(substr(old.created_at, 1, 10)) - 2440587.5 AS INTEGER)
+      AND category_id = old.category_id;
+    INSERT INTO daily_block_counts(epoch_day, category_id, count)
+    VALUES (CAST(julianday(substr(new.created_at, 1, 10)) - 2440587.5 AS INTEGER), new.category_id, 1)
+    ON CONFLICT(epoch_day, category_id) DO UPDATE SET count = count + 1;
+END;
+
+DELETE FROM daily_block_counts;
+
+INSERT INTO daily_block_counts(epoch_day, category_id, count)
+SELECT CAST(julianday(substr(created_at, 1, 10)) - 2440587.5 AS INTEGER), category_id, COUNT(*)
+FROM logs
+GROUP BY 1, 2;
@@ -0,0 +1,13 @@
+-- Numeric log timestamps (epoch milliseconds) for correct, index-friendly range queries.
+-- created_at keeps the original ISO-8601 text so the recorded offset is preserved.
+
+ALTER TABLE logs ADD COLUMN created_at_ms INTEGER;
+
+-- Backfill existing rows from the ISO-8601 text
+UPDATE logs
+SET created_at_ms = CAST(ROUND((julianday(created_at) - 2440587.5) * 86400000.0) AS INTEGER)
+WHERE created_at_ms IS NULL;
+
+-- Per-category range scans seek on (category_id, created_at_ms); supersedes ix_logs_category
+CREATE INDEX IF NOT EXISTS ix_logs_category_created_at_ms ON logs(category_id, created_at_ms);
+DROP INDEX IF EXISTS ix_logs_category;
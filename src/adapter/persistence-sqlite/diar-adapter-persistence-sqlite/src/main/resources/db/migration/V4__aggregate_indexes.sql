@@ -0,0 +1,8 @@
+-- Indexes for day-bucket aggregation across all categories
+
+-- Cross-category time range scans on the numeric timestamp; the TEXT index is no longer queried
+CREATE INDEX IF NOT EXISTS ix_logs_created_at_ms ON logs(created_at_ms);
+DROP INDEX IF EXISTS ix_logs_created_at;
+
+-- Completed towers per day
+CREATE INDEX IF NOT EXISTS ix_towers_completed_on ON towers(completed_on);
@@ -0,0 +1,8 @@
+-- Keyset pagination seeks on (created_at_ms, id); extend the time indexes with id so
+-- both the seek and the ORDER BY ... id DESC tie-break are served by the index.
+
+CREATE INDEX IF NOT EXISTS ix_logs_created_at_ms_id ON logs(created_at_ms, id);
+DROP INDEX IF EXISTS ix_logs_created_at_ms;
+
+CREATE INDEX IF NOT EXISTS ix_logs_category_created_at_ms_id ON logs(category_id, created_at_ms, id);
+DROP INDEX IF EXISTS ix_logs_category_created_at_ms;
@@ -0,0 +1,32 @@
+-- Full-text index over log notes. The FTS table keeps its own copy of the note keyed by
+-- log id (logs has no INTEGER PRIMARY KEY, so its rowid is not stable enough to share).
+-- Triggers keep it in step with logs; rows without a note are not indexed.
+
+CREATE VIRTUAL TABLE IF NOT EXISTS logs_fts USING fts5(
+    note,
+    log_id UNINDEXED,
+    tokenize = 'unicode61 remove_diacritics 2',
+    prefix = '2 3'
+);
+
+CREATE TRIGGER IF NOT EXISTS trg_logs_fts_insert AFTER INSERT ON logs
+WHEN new.note IS NOT NULL AND new.note <> ''
+BEGIN
+    INSERT INTO logs_fts(note, log_id) VALUES (new.note, new.id);
+END;
+
+CREATE TRIGGER IF NOT EXISTS trg_logs_fts_delete AFTER DELETE ON logs
+WHEN old.note IS NOT NULL AND old.note <> ''
+BEGIN
+    DELETE FROM logs_fts WHERE log_id = old.id;
+END;
+
+CREATE TRIGGER IF NOT EXISTS trg_logs_fts_update AFTER UPDATE OF id, note ON logs
+BEGIN
+    DELETE FROM logs_fts WHERE log_id = old.id;
+    INSERT INTO logs_fts(note, log_id)
+    SELECT new.note, new.id WHERE new.note IS NOT NULL AND new.note <> '';
+END;
+
+INSERT INTO logs_fts(note, log_id)
+SELECT note, id FROM logs WHERE note IS NOT NULL AND note <> '';
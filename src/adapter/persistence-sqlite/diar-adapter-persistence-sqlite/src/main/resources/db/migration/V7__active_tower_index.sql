@@ -0,0 +1,4 @@
+-- Partial index over unfinished towers only: finding a category's active tower stays a
+-- single index probe however many towers it has completed.
+
+CREATE INDEX IF NOT EXISTS ix_towers_active ON towers(category_id) WHERE completed_on IS NULL;
@@ -0,0 +1,30 @@
+-- Per-category, per-day block counts so statistics read O(days) rows instead of every log.
+-- epoch_day is the entry's local calendar date as recorded (the date part of created_at,
+-- which carries the offset it was logged with), as days since 1970-01-01.
+-- Triggers keep it current inside the same transaction as the log write.
+
+CREATE TABLE IF NOT EXISTS daily_block_counts (
+    epoch_day INTEGER NOT NULL,
+    category_id TEXT NOT NULL,
+    count INTEGER NOT NULL,
+    PRIMARY KEY (epoch_day, category_id)
+) WITHOUT ROWID;
+
+CREATE TRIGGER IF NOT EXISTS trg_logs_daily_count_insert AFTER INSERT ON logs
+BEGIN
+    INSERT INTO daily_block_counts(epoch_day, category_id, count)
+    VALUES (CAST(julianday(substr(new.created_at, 1, 10)) - 2440587.5 AS INTEGER), new.category_id, 1)
+    ON CONFLICT(epoch_day, category_id) DO UPDATE SET count = count + 1;
+END;
+
+CREATE TRIGGER IF NOT EXISTS trg_logs_daily_count_delete AFTER DELETE ON logs
+BEGIN
+    UPDATE daily_block_counts SET count = count - 1
+    WHERE epoch_day = CAST(julianday(substr(old.created_at, 1, 10)) - 2440587.5 AS INTEGER)
+      AND category_id = old.category_id;
+END;
+
+INSERT INTO daily_block_counts(epoch_day, category_id, count)
+SELECT CAST(julianday(substr(created_at, 1, 10)) - 2440587.5 AS INTEGER), category_id, COUNT(*)
+FROM logs
+GROUP BY 1, 2;
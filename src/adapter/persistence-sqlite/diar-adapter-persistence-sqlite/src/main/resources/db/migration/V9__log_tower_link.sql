@@ -0,0 +1,32 @@
+-- Record which tower each block was added to, so a tower's blocks are one indexed lookup.
+
+ALTER TABLE logs ADD COLUMN tower_id TEXT;
+
+CREATE INDEX IF NOT EXISTS ix_logs_tower ON logs(tower_id, created_at_ms, id);
+
+-- Backfill with the same reconstruction the gallery used before: within each category, blocks
+-- taken oldest first fill towers in completion order (active tower last), each tower taking
+-- blocks_completed of them. Insertion order (rowid) breaks ties between same-day completions.
+UPDATE logs
+SET tower_id = m.tower_id
+FROM (
+    SELECT l.id AS log_id, t.id AS tower_id
+    FROM (
+        SELECT id, category_id,
+               ROW_NUMBER() OVER (PARTITION BY category_id ORDER BY created_at_ms, id) AS rn
+        FROM logs
+    ) AS l
+    JOIN (
+        SELECT id, category_id, blocks_completed,
+               SUM(blocks_completed) OVER (
+                   PARTITION BY category_id
+                   ORDER BY completed_on IS NULL, completed_on, rowid
+                   ROWS UNBOUNDED PRECEDING
+               ) AS upto
+        FROM towers
+    ) AS t
+      ON t.category_id = l.category_id
+     AND l.rn > t.upto - t.blocks_completed
+     AND l.rn <= t.upto
+) AS m
+WHERE logs.id = m.log_id;
@@ -1,12 +1,21 @@
 package dev.diar.app.port;
 
 import java.nio.file.Path;
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.function.Consumer;
 
 public interface AudioCapturePort {
     // Simple descriptor for input devices
     public static record AudioDevice(String id, String name) {}
+    // Health of the latest take: device buffer overruns, and bytes dropped because the file writer or the
+    // meters fell behind. Non-zero lineOverruns or droppedAudioBytes mean the file is missing audio.
+    public static record CaptureStats(long lineOverruns, long droppedAudioBytes, long droppedAnalysisBytes) {
+        public boolean audioLost() { return lineOverruns > 0 || droppedAudioBytes > 0; }
+    }
+    // A take cut short by a crash, finalized into a playable file. id is the name stem of the file the take
+    // was started as; file differs from it when that name was already taken and the take was renamed.
+    public static record RecoveredRecording(String id, Path file, ZonedDateTime startedAt, Integer durationSeconds) {}
 
     void startRecording(Path targetFile, Consumer<Double> levelMeterCallback) throws Exception;
     default void startRecordingWithSpectrum(Path targetFile, Consumer<Double> levelMeterCallback, Consumer<float[]> spectrumCallback) throws Exception {
@@ -22,4 +31,9 @@ public interface AudioCapturePort {
     default List<AudioDevice> listInputDevices() { return java.util.List.of(new AudioDevice("default", "System Default")); }
     default void setInputDevice(String deviceId) {}
     default String getInputDevice() { return "default"; }
+
+    default CaptureStats getCaptureStats() { return new CaptureStats(0, 0, 0); }
+
+    // Finalizes takes in dir that were still being written when the process died. Call at startup.
+    default List<RecoveredRecording> recoverInterruptedRecordings(Path dir) throws Exception { return List.of(); }
 }
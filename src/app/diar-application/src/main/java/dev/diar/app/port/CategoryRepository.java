@@ -1,12 +1,24 @@
 package dev.diar.app.port;
 
 import dev.diar.core.model.Category;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 public interface CategoryRepository {
     void save(Category category);
+    default void saveAll(Collection<Category> categories) {
+        categories.forEach(this::save);
+    }
     Optional<Category> findById(String id);
     List<Category> findAll();
+    // Case-insensitive match on the trimmed name.
+    default Optional<Category> findByName(String name) {
+        String normalized = name.trim().toLowerCase(Locale.ROOT);
+        return findAll().stream()
+            .filter(c -> c.name().trim().toLowerCase(Locale.ROOT).equals(normalized))
+            .findFirst();
+    }
     void delete(String id);
 }
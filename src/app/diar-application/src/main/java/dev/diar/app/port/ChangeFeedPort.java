@@ -0,0 +1,41 @@
+package dev.diar.app.port;
+
+import dev.diar.core.model.Category;
+import dev.diar.core.model.Recording;
+import dev.diar.core.model.Tower;
+
+public interface ChangeFeedPort {
+    public static enum Entity { CATEGORY, TOWER, RECORDING }
+
+    public static interface Visitor {
+        void category(Category category);
+        void tower(Tower tower);
+        void recording(Recording recording);
+        void deleted(Entity entity, String id);
+    }
+
+    // Sequence number of the latest insert, update or delete of a category, tower or recording; 0 before any.
+    long lastSequence();
+
+    // Current state of every entity changed after the sequence, once each: deletions first, so replaying them in order
+    // frees unique names before a recreated entity claims them, then categories, towers and recordings.
+    void forEachChangeAfter(long sequence, Visitor visitor);
+
+    // Without a change journal: reports every entity as changed on every call, and no deletions.
+    static ChangeFeedPort fullScan(CategoryRepository categoryRepository, TowerRepository towerRepository, RecordingRepository recordingRepository) {
+        return new ChangeFeedPort() {
+            @Override
+            public long lastSequence() {
+                return 0;
+            }
+
+            @Override
+            public void forEachChangeAfter(long sequence, Visitor visitor) {
+                var categories = categoryRepository.findAll();
+                categories.forEach(visitor::category);
+                categories.forEach(c -> towerRepository.findByCategory(c.id()).forEach(visitor::tower));
+                recordingRepository.findAll().forEach(visitor::recording);
+            }
+        };
+    }
+}
@@ -0,0 +1,22 @@
+package dev.diar.app.port;
+
+import dev.diar.core.model.Category;
+import dev.diar.core.model.Tower;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public interface DashboardQueryPort {
+    // activeTower is null when the category has no tower in progress
+    public static record CategoryTower(Category category, Tower activeTower) {}
+
+    // Every category with its active tower, ordered like CategoryRepository.findAll(); adapters should use one query.
+    List<CategoryTower> categoryTowers();
+
+    // Composes the two repositories, one active-tower lookup per category.
+    static DashboardQueryPort from(CategoryRepository categoryRepository, TowerRepository towerRepository) {
+        return () -> categoryRepository.findAll().stream()
+            .map(c -> new CategoryTower(c, towerRepository.findActive(c.id()).orElse(null)))
+            .collect(Collectors.toList());
+    }
+}
@@ -1,10 +1,61 @@
 package dev.diar.app.port;
 
 import dev.diar.core.model.LogEntry;
+import java.time.LocalDate;
 import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public interface LogRepository {
+    // Position of the last entry of a page: pages continue strictly after (createdAtMillis, id), newest first
+    public static record PageKey(long createdAtMillis, String id) {}
+
+    // An entry whose id is already stored is left as it is, so replaying an import is harmless.
     void save(LogEntry logEntry);
+    // Bulk insert; adapters may write the whole collection in one transaction.
+    default void saveAll(Collection<LogEntry> logEntries) {
+        logEntries.forEach(this::save);
+    }
     List<LogEntry> findByCategory(String categoryId, ZonedDateTime fromInclusive, ZonedDateTime toExclusive);
+    // Blocks added to the given tower, oldest first.
+    List<LogEntry> findByTower(String towerId);
+    // Newest first across all categories, at most limit entries.
+    List<LogEntry> findRange(ZonedDateTime fromInclusive, ZonedDateTime toExclusive, int limit);
+    // Keyset page, newest first; categoryId null spans all categories, after null starts at the newest entry.
+    List<LogEntry> findPage(String categoryId, ZonedDateTime fromInclusive, ZonedDateTime toExclusive, PageKey after, int limit);
+    // Best match first; every word of query must start a word in the note. Blank queries match nothing.
+    List<LogEntry> searchNotes(String query, ZonedDateTime fromInclusive, ZonedDateTime toExclusive, int limit);
+    // Streams entries oldest first without building a list; adapters should read from a live cursor.
+    default void forEachByCategory(String categoryId, ZonedDateTime fromInclusive, ZonedDateTime toExclusive, Consumer<LogEntry> visitor) {
+        findByCategory(categoryId, fromInclusive, toExclusive).stream()
+            .sorted(Comparator.comparing(LogEntry::createdAt))
+            .forEach(visitor);
+    }
+    // Number of entries in the window; adapters should count in the store without loading rows.
+    default long countByCategory(String categoryId, ZonedDateTime fromInclusive, ZonedDateTime toExclusive) {
+        long[] count = {0};
+        forEachByCategory(categoryId, fromInclusive, toExclusive, le -> count[0]++);
+        return count[0];
+    }
+    // Insertion sequence of the newest entry; entries are never updated, so this marks everything stored so far.
+    long lastSequence();
+    // Streams entries inserted after the sequence, in insertion order.
+    void forEachAddedAfter(long sequence, Consumer<LogEntry> visitor);
+    // Number of entries per calendar day as recorded, across all categories; days without entries are omitted.
+    // Each entry counts on the local date of its own created_at, in the offset it was recorded under, not on
+    // the date in any one zone. An entry made at 00:30+02:00 counts on that date even where it was still the
+    // previous day, so entries from either side of a DST change or from travel can land a day apart from a
+    // single-zone view. Adapters should answer from a rollup kept current on every insert.
+    Map<LocalDate, Long> countPerLocalDay(LocalDate fromInclusive, LocalDate toInclusive);
+    // Recomputes the per-day rollup from the raw entries in one pass.
+    default void rebuildDailyCounts() {
+    }
+    // Whether the rollup's total per category still equals the number of entries. A cheap drift check
+    // that adapters should answer from indexes; true where there is no rollup.
+    default boolean dailyCountsMatch() {
+        return true;
+    }
 }
@@ -1,11 +1,19 @@
 package dev.diar.app.port;
 
 import dev.diar.core.model.Recording;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface RecordingRepository {
+    // Saves a finished recording, completing the in-progress row with the same id if there is one.
     void save(Recording recording);
+    default void saveAll(Collection<Recording> recordings) {
+        recordings.forEach(this::save);
+    }
+    // Row of a take still being captured. findById, findAll and change exports leave it out until save completes it.
+    void saveInProgress(Recording recording);
+    List<Recording> findInProgress();
     Optional<Recording> findById(String id);
     List<Recording> findAll();
     void delete(String id);
@@ -1,8 +1,15 @@
 package dev.diar.app.port;
 
+import java.util.Map;
 import java.util.Optional;
 
 public interface SettingsRepository {
     void put(String key, String value);
+    // Writes every entry as one unit; adapters should use a single transaction.
+    default void putAll(Map<String, String> values) {
+        values.forEach(this::put);
+    }
     Optional<String> get(String key);
+    // Every stored key and value, read in one go.
+    Map<String, String> getAll();
 }
@@ -1,9 +1,24 @@
 package dev.diar.app.port;
 
 import dev.diar.core.model.Tower;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 public interface TowerRepository {
     void save(Tower tower);
+    default void saveAll(Collection<Tower> towers) {
+        towers.forEach(this::save);
+    }
     List<Tower> findByCategory(String categoryId);
+    // The category's tower still being built, if any; adapters should answer without reading completed towers.
+    default Optional<Tower> findActive(String categoryId) {
+        return findByCategory(categoryId).stream()
+            .filter(t -> !t.isCompleted())
+            .findFirst();
+    }
+    // Completed towers per completion date, across all categories; days without completions are omitted.
+    Map<LocalDate, Long> countCompletedPerDay(LocalDate fromInclusive, LocalDate toInclusive);
 }
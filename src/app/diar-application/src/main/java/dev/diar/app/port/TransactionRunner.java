@@ -0,0 +1,26 @@
+package dev.diar.app.port;
+
+import java.util.function.Supplier;
+
+public interface TransactionRunner {
+    // Runs work as one unit: repository calls made on this thread commit together or not at all.
+    // Calls nested inside an open transaction join it.
+    <T> T inTransaction(Supplier<T> work);
+
+    default void run(Runnable work) {
+        inTransaction(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    // No transaction at all; each repository call stands on its own.
+    static TransactionRunner direct() {
+        return new TransactionRunner() {
+            @Override
+            public <T> T inTransaction(Supplier<T> work) {
+                return work.get();
+            }
+        };
+    }
+}
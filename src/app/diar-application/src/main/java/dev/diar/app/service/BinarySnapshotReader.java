@@ -0,0 +1,188 @@
+package dev.diar.app.service;
+
+import dev.diar.app.port.ChangeFeedPort;
+import dev.diar.core.model.Category;
+import dev.diar.core.model.LogEntry;
+import dev.diar.core.model.Recording;
+import dev.diar.core.model.Tower;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static dev.diar.app.service.BinarySnapshotWriter.*;
+
+/**
+ * Reads the format written by {@link BinarySnapshotWriter}, one record at a time.
+ */
+final class BinarySnapshotReader implements Closeable {
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream in;
+    private final List<String> categoryIds = new ArrayList<>();
+    private final List<String> towerIds = new ArrayList<>();
+    private byte[] buf = new byte[256];
+    private int pos;
+    private int limit;
+    private long lastLogMillis;
+    private int lastLogOffset;
+
+    BinarySnapshotReader(InputStream in) throws IOException {
+        this.in = new GZIPInputStream(in, GZIP_BUFFER_SIZE);
+        byte[] magic = this.in.readNBytes(MAGIC.length);
+        if (!Arrays.equals(magic, MAGIC)) throw new IOException("Not a DIAR backup");
+        long version = streamVarint();
+        if (version != VERSION) throw new IOException("Unsupported backup version " + version);
+    }
+
+    /**
+     * Hands every record to the visitor in file order, up to the END tag.
+     */
+    void readAll(SnapshotVisitor visitor) throws IOException {
+        while (true) {
+            int tag = in.read();
+            if (tag < 0) throw new EOFException("Backup is truncated");
+            if (tag == TAG_END) return;
+            long length = streamVarint();
+            // The length comes from the file; a corrupt one must not turn into a huge allocation
+            if (length < 0 || length > MAX_RECORD_BYTES) throw new IOException("Corrupt backup: record length " + length);
+            fill((int) length);
+            switch (tag) {
+                case TAG_CATEGORY -> {
+                    String id = id();
+                    categoryIds.add(id);
+                    visitor.category(new Category(id, string(), (int) zigzag()));
+                }
+                case TAG_TOWER -> {
+                    String id = id();
+                    towerIds.add(id);
+                    String categoryId = ref(categoryIds);
+                    int blockTarget = (int) zigzag();
+                    int blocksCompleted = (int) zigzag();
+                    long completedOn = varint();
+                    visitor.tower(new Tower(id, categoryId, blockTarget, blocksCompleted,
+                        completedOn == 0 ? null : LocalDate.ofEpochDay(unzigzag(completedOn - 1))));
+                }
+                case TAG_LOG -> {
+                    String id = id();
+                    String categoryId = ref(categoryIds);
+                    String towerId = ref(towerIds);
+                    String note = string();
+                    lastLogMillis += zigzag();
+                    int nanos = (int) varint();
+                    lastLogOffset += (int) zigzag();
+                    visitor.log(new LogEntry(id, categoryId, towerId, note, dateTime(lastLogMillis, nanos, lastLogOffset)));
+                }
+                case TAG_RECORDING -> {
+                    String id = id();
+                    String filePath = string();
+                    long millis = zigzag();
+                    int nanos = (int) varint();
+                    int offset = (int) zigzag();
+                    long duration = varint();
+                    visitor.recording(new Recording(id, filePath, dateTime(millis, nanos, offset),
+                        duration == 0 ? null : (int) unzigzag(duration - 1)));
+                }
+                case TAG_SETTING -> visitor.setting(string(), string());
+                case TAG_DELETED -> visitor.deleted(ChangeFeedPort.Entity.valueOf(string()), id());
+                default -> {
+                    // Written by a newer version; the length prefix lets us step over it
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private static ZonedDateTime dateTime(long epochMillis, int nanoOfMilli, int offsetSeconds) {
+        Instant instant = Instant.ofEpochMilli(epochMillis).plusNanos(nanoOfMilli);
+        return ZonedDateTime.ofInstant(instant, ZoneOffset.ofTotalSeconds(offsetSeconds));
+    }
+
+    private void fill(int length) throws IOException {
+        if (length > buf.length) buf = new byte[Math.max(length, buf.length * 2)];
+        if (in.readNBytes(buf, 0, length) != length) throw new EOFException("Backup is truncated");
+        pos = 0;
+        limit = length;
+    }
+
+    private long streamVarint() throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) throw new EOFException("Backup is truncated");
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return result;
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private int next() throws IOException {
+        if (pos >= limit) throw new IOException("Record is shorter than its fields");
+        return buf[pos++] & 0xFF;
+    }
+
+    private long varint() throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = next();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return result;
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private long zigzag() throws IOException {
+        return unzigzag(varint());
+    }
+
+    private static long unzigzag(long v) {
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    private String string() throws IOException {
+        long length = varint() - 1;
+        if (length < 0) return null;
+        if (length > limit - pos) throw new IOException("Record is shorter than its fields");
+        String s = new String(buf, pos, (int) length, StandardCharsets.UTF_8);
+        pos += (int) length;
+        return s;
+    }
+
+    private String id() throws IOException {
+        if (next() == 0) {
+            return new UUID(fixed64(), fixed64()).toString();
+        }
+        return string();
+    }
+
+    private String ref(List<String> dictionary) throws IOException {
+        long ref = varint();
+        if (ref == 0) return null;
+        if (ref == 1) return id();
+        if (ref - 2 >= dictionary.size()) throw new IOException("Unknown reference " + ref);
+        return dictionary.get((int) (ref - 2));
+    }
+
+    private long fixed64() throws IOException {
+        long v = 0;
+        for (int i = 0; i < 8; i++) {
+            v = (v << 8) | next();
+        }
+        return v;
+    }
+}
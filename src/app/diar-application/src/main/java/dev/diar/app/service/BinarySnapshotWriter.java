@@ -0,0 +1,240 @@
+package dev.diar.app.service;
+
+import dev.diar.app.port.ChangeFeedPort;
+import dev.diar.core.model.Category;
+import dev.diar.core.model.LogEntry;
+import dev.diar.core.model.Recording;
+import dev.diar.core.model.Tower;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the compact binary backup format, GZIP-compressed.
+ *
+ * Layout inside the GZIP stream: the magic bytes "DIAR", a varint format version, then records of
+ * tag byte, varint payload length and payload, closed by a single END tag. Readers skip tags they
+ * do not know, so new record kinds can be added without a version bump.
+ *
+ * Categories and towers are numbered in the order they are written; logs and towers refer to them
+ * by that number instead of repeating the id. Canonical UUIDs are stored as 16 raw bytes, and log
+ * timestamps as the zigzag varint difference from the previous log's epoch millis.
+ */
+final class BinarySnapshotWriter implements SnapshotVisitor, Closeable {
+    static final byte[] MAGIC = {'D', 'I', 'A', 'R'};
+    static final int VERSION = 1;
+
+    static final int TAG_END = 0;
+    static final int TAG_CATEGORY = 1;
+    static final int TAG_TOWER = 2;
+    static final int TAG_LOG = 3;
+    static final int TAG_RECORDING = 4;
+    static final int TAG_SETTING = 5;
+    static final int TAG_DELETED = 6;
+
+    // Far above any real record; a reader rejects longer ones as corrupt rather than allocating them
+    static final int MAX_RECORD_BYTES = 16 * 1024 * 1024;
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final OutputStream out;
+    private final Payload payload = new Payload();
+    private final Map<String, Integer> categoryIndex = new HashMap<>();
+    private final Map<String, Integer> towerIndex = new HashMap<>();
+    private int categoriesWritten;
+    private int towersWritten;
+    private long lastLogMillis;
+    private int lastLogOffset;
+    private boolean finished;
+
+    BinarySnapshotWriter(OutputStream out) throws IOException {
+        this.out = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+        this.out.write(MAGIC);
+        writeVarint(this.out, VERSION);
+    }
+
+    @Override
+    public void category(Category c) throws IOException {
+        payload.id(c.id());
+        payload.string(c.name());
+        payload.zigzag(c.towerBlockTarget());
+        categoryIndex.put(c.id(), categoriesWritten++);
+        writeRecord(TAG_CATEGORY);
+    }
+
+    @Override
+    public void tower(Tower t) throws IOException {
+        payload.id(t.id());
+        payload.ref(categoryIndex, t.categoryId());
+        payload.zigzag(t.blockTarget());
+        payload.zigzag(t.blocksCompleted());
+        payload.varint(t.completedOn() != null ? zigzag(t.completedOn().toEpochDay()) + 1 : 0);
+        towerIndex.put(t.id(), towersWritten++);
+        writeRecord(TAG_TOWER);
+    }
+
+    @Override
+    public void log(LogEntry le) throws IOException {
+        ZonedDateTime at = le.createdAt();
+        long millis = at.toInstant().toEpochMilli();
+        int offset = at.getOffset().getTotalSeconds();
+        payload.id(le.id());
+        payload.ref(categoryIndex, le.categoryId());
+        payload.ref(towerIndex, le.towerId());
+        payload.string(le.note());
+        // Logs are written in time order per category, so the deltas are mostly small
+        payload.zigzag(millis - lastLogMillis);
+        payload.varint(at.getNano() % 1_000_000);
+        payload.zigzag(offset - lastLogOffset);
+        lastLogMillis = millis;
+        lastLogOffset = offset;
+        writeRecord(TAG_LOG);
+    }
+
+    @Override
+    public void recording(Recording r) throws IOException {
+        ZonedDateTime at = r.createdAt();
+        payload.id(r.id());
+        payload.string(r.filePath());
+        payload.zigzag(at.toInstant().toEpochMilli());
+        payload.varint(at.getNano() % 1_000_000);
+        payload.zigzag(at.getOffset().getTotalSeconds());
+        payload.varint(r.durationSeconds() != null ? zigzag(r.durationSeconds()) + 1 : 0);
+        writeRecord(TAG_RECORDING);
+    }
+
+    @Override
+    public void setting(String key, String value) throws IOException {
+        payload.string(key);
+        payload.string(value);
+        writeRecord(TAG_SETTING);
+    }
+
+    @Override
+    public void deleted(ChangeFeedPort.Entity entity, String id) throws IOException {
+        payload.string(entity.name());
+        payload.id(id);
+        writeRecord(TAG_DELETED);
+    }
+
+    /**
+     * Writes the END tag and the GZIP trailer. A stream closed without finish() reads as truncated.
+     */
+    void finish() throws IOException {
+        if (finished) return;
+        finished = true;
+        out.write(TAG_END);
+        ((GZIPOutputStream) out).finish();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void writeRecord(int tag) throws IOException {
+        if (payload.size() > MAX_RECORD_BYTES) throw new IOException("Record of " + payload.size() + " bytes is too large to back up");
+        out.write(tag);
+        writeVarint(out, payload.size());
+        payload.writeTo(out);
+        payload.reset();
+    }
+
+    private static void writeVarint(OutputStream out, long v) throws IOException {
+        while ((v & ~0x7FL) != 0) {
+            out.write((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.write((int) v);
+    }
+
+    static long zigzag(long v) {
+        return (v << 1) ^ (v >> 63);
+    }
+
+    // Canonical lower-case form only, so the 16 byte encoding reads back to the same string
+    static boolean isCanonicalUuid(String s) {
+        if (s.length() != 36) return false;
+        for (int i = 0; i < 36; i++) {
+            char ch = s.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (ch != '-') return false;
+            } else if (!((ch >= '0' && ch <= '9') || (ch >= 'a' && ch <= 'f'))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Record payload under construction; reset() keeps the buffer, so records allocate nothing once warm
+    private static final class Payload extends ByteArrayOutputStream {
+        Payload() {
+            super(256);
+        }
+
+        void varint(long v) {
+            while ((v & ~0x7FL) != 0) {
+                write((int) ((v & 0x7F) | 0x80));
+                v >>>= 7;
+            }
+            write((int) v);
+        }
+
+        void zigzag(long v) {
+            varint(BinarySnapshotWriter.zigzag(v));
+        }
+
+        // varint(length + 1) then UTF-8; 0 means null
+        void string(String s) {
+            if (s == null) {
+                varint(0);
+                return;
+            }
+            byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+            varint(utf8.length + 1L);
+            write(utf8, 0, utf8.length);
+        }
+
+        // Flag byte 0 and 16 raw bytes for canonical UUIDs, flag 1 and a string for any other id
+        void id(String id) {
+            if (isCanonicalUuid(id)) {
+                UUID uuid = UUID.fromString(id);
+                write(0);
+                fixed64(uuid.getMostSignificantBits());
+                fixed64(uuid.getLeastSignificantBits());
+            } else {
+                write(1);
+                string(id);
+            }
+        }
+
+        // 0 for null, 1 and the id for an id not written before, index + 2 for a known one
+        void ref(Map<String, Integer> dictionary, String id) {
+            if (id == null) {
+                varint(0);
+                return;
+            }
+            Integer index = dictionary.get(id);
+            if (index != null) {
+                varint(index + 2L);
+            } else {
+                varint(1);
+                id(id);
+            }
+        }
+
+        private void fixed64(long v) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                write((int) (v >>> shift));
+            }
+        }
+    }
+}
@@ -4,11 +4,11 @@ import dev.diar.app.port.CategoryRepository;
 import dev.diar.app.port.ClockPort;
 import dev.diar.app.port.LogRepository;
 import dev.diar.app.port.TowerRepository;
+import dev.diar.app.port.TransactionRunner;
 import dev.diar.core.model.Category;
 import dev.diar.core.model.LogEntry;
 import dev.diar.core.model.Tower;
 
-import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.Optional;
@@ -18,37 +18,50 @@ public class BlockService {
     private final LogRepository logRepository;
     private final TowerRepository towerRepository;
     private final ClockPort clock;
+    private final TransactionRunner transactions;
 
     public BlockService(
         CategoryRepository categoryRepository,
         LogRepository logRepository,
         TowerRepository towerRepository,
         ClockPort clock
+    ) {
+        this(categoryRepository, logRepository, towerRepository, clock, TransactionRunner.direct());
+    }
+
+    public BlockService(
+        CategoryRepository categoryRepository,
+        LogRepository logRepository,
+        TowerRepository towerRepository,
+        ClockPort clock,
+        TransactionRunner transactions
     ) {
         this.categoryRepository = Objects.requireNonNull(categoryRepository);
         this.logRepository = Objects.requireNonNull(logRepository);
         this.towerRepository = Objects.requireNonNull(towerRepository);
         this.clock = Objects.requireNonNull(clock);
+        this.transactions = Objects.requireNonNull(transactions);
     }
 
     public String addBlock(String categoryId, String note) {
+        // Log and tower changes commit together, so a failure never leaves them out of step
+        return transactions.inTransaction(() -> addBlockInTransaction(categoryId, note));
+    }
+
+    private String addBlockInTransaction(String categoryId, String note) {
         Category category = categoryRepository.findById(categoryId)
             .orElseThrow(() -> new IllegalArgumentException("Category not found: " + categoryId));
 
+        // Pick the tower first so the log can record which tower it belongs to
+        Tower activeTower = towerRepository.findActive(categoryId).orElse(null);
+        String towerId = activeTower != null ? activeTower.id() : UUID.randomUUID().toString();
+
         String logId = UUID.randomUUID().toString();
-        LogEntry logEntry = new LogEntry(logId, categoryId, note, clock.now());
+        LogEntry logEntry = new LogEntry(logId, categoryId, towerId, note, clock.now());
         logRepository.save(logEntry);
 
-        // Update or create tower
-        List<Tower> towers = towerRepository.findByCategory(categoryId);
-        Tower activeTower = towers.stream()
-            .filter(t -> !t.isCompleted())
-            .findFirst()
-            .orElse(null);
-
         if (activeTower == null) {
             // Create new tower
-            String towerId = UUID.randomUUID().toString();
             activeTower = new Tower(towerId, categoryId, category.towerBlockTarget(), 1, null);
             towerRepository.save(activeTower);
         } else {
@@ -91,9 +104,6 @@ public class BlockService {
     }
 
     public Optional<Tower> getActiveTower(String categoryId) {
-        List<Tower> towers = towerRepository.findByCategory(categoryId);
-        return towers.stream()
-            .filter(t -> !t.isCompleted())
-            .findFirst();
+        return towerRepository.findActive(categoryId);
     }
 }
@@ -0,0 +1,98 @@
+package dev.diar.app.service;
+
+import dev.diar.app.port.CategoryRepository;
+import dev.diar.core.model.Category;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps every category in memory, indexed by id and by normalized name. The table is loaded
+ * with one findAll() on first use; save and delete write through and then update both indexes,
+ * so lookups by id or name never reach the wrapped repository.
+ */
+public class CachingCategoryRepository implements CategoryRepository {
+    private final CategoryRepository delegate;
+    private final Map<String, Category> byId = new ConcurrentHashMap<>();
+    private final Map<String, String> idByName = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    public CachingCategoryRepository(CategoryRepository delegate) {
+        this.delegate = Objects.requireNonNull(delegate);
+    }
+
+    @Override
+    public synchronized void save(Category category) {
+        ensureLoaded();
+        delegate.save(category);
+        index(category);
+    }
+
+    @Override
+    public synchronized void saveAll(Collection<Category> categories) {
+        ensureLoaded();
+        delegate.saveAll(categories);
+        categories.forEach(this::index);
+    }
+
+    @Override
+    public Optional<Category> findById(String id) {
+        ensureLoaded();
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    @Override
+    public Optional<Category> findByName(String name) {
+        ensureLoaded();
+        String id = idByName.get(normalize(name));
+        return id == null ? Optional.empty() : Optional.ofNullable(byId.get(id));
+    }
+
+    @Override
+    public List<Category> findAll() {
+        ensureLoaded();
+        // Same order as the SQLite adapter's ORDER BY name
+        List<Category> result = new ArrayList<>(byId.values());
+        result.sort(Comparator.comparing(Category::name));
+        return result;
+    }
+
+    @Override
+    public synchronized void delete(String id) {
+        ensureLoaded();
+        delegate.delete(id);
+        Category removed = byId.remove(id);
+        if (removed != null) {
+            idByName.remove(normalize(removed.name()), id);
+        }
+    }
+
+    // Caller holds the lock
+    private void index(Category category) {
+        Category previous = byId.put(category.id(), category);
+        if (previous != null) {
+            idByName.remove(normalize(previous.name()), previous.id());
+        }
+        idByName.put(normalize(category.name()), category.id());
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private void ensureLoaded() {
+        if (loaded) return;
+        synchronized (this) {
+            if (loaded) return;
+            delegate.findAll().forEach(this::index);
+            loaded = true;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package dev.diar.app.service;
+
+import dev.diar.app.port.SettingsRepository;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves settings from memory. The whole table is loaded with one getAll() on first use.
+ * Each cached value is kept as its Optional, so a hit allocates nothing.
+ *
+ * With a zero delay, puts write through to the wrapped repository before updating the cache.
+ * With a positive delay, puts update the cache immediately and are queued instead: repeated puts
+ * to a key within the window collapse into its latest value, and the queue is written with one
+ * putAll on a background thread. close() writes whatever is still queued.
+ */
+public class CachingSettingsRepository implements SettingsRepository, AutoCloseable {
+    private final SettingsRepository delegate;
+    private final Map<String, Optional<String>> cache = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    private final long writeBehindMillis;
+    private final ScheduledExecutorService flusher;
+    private final Object flushLock = new Object();
+    private final Map<String, String> pending = new LinkedHashMap<>(); // guarded by pending
+    private boolean flushScheduled; // guarded by pending
+    private boolean closed; // guarded by pending
+
+    public CachingSettingsRepository(SettingsRepository delegate) {
+        this(delegate, Duration.ZERO);
+    }
+
+    public CachingSettingsRepository(SettingsRepository delegate, Duration writeBehindDelay) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.writeBehindMillis = Math.max(0, writeBehindDelay.toMillis());
+        if (writeBehindMillis == 0) {
+            this.flusher = null;
+        } else {
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+                Thread t = new Thread(r, "diar-settings-writer");
+                t.setDaemon(true);
+                return t;
+            });
+            // close() writes the queue itself, so a flush still waiting on its delay is dropped
+            executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+            this.flusher = executor;
+        }
+    }
+
+    @Override
+    public void put(String key, String value) {
+        putAll(Collections.singletonMap(key, value));
+    }
+
+    @Override
+    public void putAll(Map<String, String> values) {
+        if (values.isEmpty()) return;
+        ensureLoaded();
+        if (flusher == null) {
+            delegate.putAll(values);
+            values.forEach((k, v) -> cache.put(k, Optional.ofNullable(v)));
+            return;
+        }
+        values.forEach((k, v) -> cache.put(k, Optional.ofNullable(v)));
+        boolean writeNow;
+        synchronized (pending) {
+            pending.putAll(values);
+            writeNow = closed;
+            if (!closed) scheduleFlush();
+        }
+        // The background writer is gone after close(), so late puts are written directly
+        if (writeNow) flush();
+    }
+
+    @Override
+    public Optional<String> get(String key) {
+        ensureLoaded();
+        // Keys absent from the table stay absent until put
+        return cache.getOrDefault(key, Optional.empty());
+    }
+
+    @Override
+    public Map<String, String> getAll() {
+        ensureLoaded();
+        Map<String, String> result = new HashMap<>();
+        cache.forEach((k, v) -> v.ifPresent(value -> result.put(k, value)));
+        return result;
+    }
+
+    /**
+     * Writes queued puts now. Entries that fail to write stay queued unless a newer value replaced them.
+     */
+    public void flush() {
+        // One writer at a time, so an older batch can never land after a newer one
+        synchronized (flushLock) {
+            Map<String, String> batch;
+            synchronized (pending) {
+                flushScheduled = false;
+                if (pending.isEmpty()) return;
+                batch = new LinkedHashMap<>(pending);
+                pending.clear();
+            }
+            try {
+                delegate.putAll(batch);
+            } catch (RuntimeException e) {
+                synchronized (pending) {
+                    batch.forEach(pending::putIfAbsent);
+                }
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (flusher == null) return;
+        synchronized (pending) {
+            if (closed) return;
+            closed = true;
+        }
+        flusher.shutdown();
+        try {
+            // Only a flush already under way is waited for
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    // Caller holds the pending lock
+    private void scheduleFlush() {
+        if (flushScheduled) return;
+        flushScheduled = true;
+        flusher.schedule(this::flushInBackground, writeBehindMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void flushInBackground() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // Keep the entries queued and try again after another window
+            synchronized (pending) {
+                if (!closed) scheduleFlush();
+            }
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) return;
+        synchronized (this) {
+            if (loaded) return;
+            delegate.getAll().forEach((k, v) -> cache.put(k, Optional.ofNullable(v)));
+            loaded = true;
+        }
+    }
+}
@@ -23,10 +23,7 @@ public class CategoryService {
         }
 
         // Prevent duplicates (case-insensitive)
-        String normalized = name.trim().toLowerCase();
-        boolean exists = categoryRepository.findAll().stream()
-            .anyMatch(c -> c.name().trim().toLowerCase().equals(normalized));
-        if (exists) {
+        if (categoryRepository.findByName(name).isPresent()) {
             throw new IllegalArgumentException("Category with the same name already exists: " + name);
         }
 
@@ -0,0 +1,27 @@
+package dev.diar.app.service;
+
+import dev.diar.app.port.DashboardQueryPort;
+import dev.diar.core.model.Tower;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+public class DashboardService {
+    private final DashboardQueryPort dashboardQuery;
+
+    public DashboardService(DashboardQueryPort dashboardQuery) {
+        this.dashboardQuery = Objects.requireNonNull(dashboardQuery);
+    }
+
+    public DashboardSnapshot snapshot() {
+        List<DashboardSnapshot.CategoryStatus> categories = dashboardQuery.categoryTowers().stream()
+            .map(row -> new DashboardSnapshot.CategoryStatus(row.category(), activeBlocks(row.activeTower())))
+            .collect(Collectors.toList());
+        return new DashboardSnapshot(categories);
+    }
+
+    private static int activeBlocks(Tower activeTower) {
+        return activeTower != null ? activeTower.blocksCompleted() : 0;
+    }
+}
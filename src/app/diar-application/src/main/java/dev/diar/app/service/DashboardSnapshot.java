@@ -0,0 +1,25 @@
+package dev.diar.app.service;
+
+import dev.diar.core.model.Category;
+
+import java.util.List;
+
+/**
+ * Every category with the progress of its active tower, as read in one pass.
+ */
+public record DashboardSnapshot(List<CategoryStatus> categories) {
+    public DashboardSnapshot {
+        categories = List.copyOf(categories);
+    }
+
+    public record CategoryStatus(Category category, int activeBlocks) {
+        public boolean isUnlimited() {
+            return category.towerBlockTarget() == Integer.MAX_VALUE;
+        }
+
+        public double progressRatio() {
+            int target = category.towerBlockTarget();
+            return target > 0 ? (double) activeBlocks / (double) target : 0.0;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package dev.diar.app.service;
 import dev.diar.app.port.ClockPort;
 
 import java.time.LocalDate;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -32,18 +33,24 @@ public class EnergyService {
 
     public void setLevel(int level) {
         int clamped = Math.max(0, Math.min(100, level));
-        settings.putInt(SettingsService.KEY_ENERGY_LEVEL, clamped);
-        settings.putDate(SettingsService.KEY_ENERGY_DATE, clock.today());
+        settings.putAll(Map.of(
+            SettingsService.KEY_ENERGY_LEVEL, Integer.toString(clamped),
+            SettingsService.KEY_ENERGY_DATE, clock.today().toString()
+        ));
     }
 
     public void setExhausted(boolean exhausted) {
-        settings.putBool(SettingsService.KEY_ENERGY_EXHAUSTED, exhausted);
-        settings.putDate(SettingsService.KEY_ENERGY_DATE, clock.today());
+        settings.putAll(Map.of(
+            SettingsService.KEY_ENERGY_EXHAUSTED, Boolean.toString(exhausted),
+            SettingsService.KEY_ENERGY_DATE, clock.today().toString()
+        ));
     }
 
     public void resetForNewDay() {
-        settings.putInt(SettingsService.KEY_ENERGY_LEVEL, 100);
-        settings.putBool(SettingsService.KEY_ENERGY_EXHAUSTED, false);
-        settings.putDate(SettingsService.KEY_ENERGY_DATE, clock.today());
+        settings.putAll(Map.of(
+            SettingsService.KEY_ENERGY_LEVEL, "100",
+            SettingsService.KEY_ENERGY_EXHAUSTED, Boolean.toString(false),
+            SettingsService.KEY_ENERGY_DATE, clock.today().toString()
+        ));
     }
 }
@@ -1,18 +1,32 @@
 package dev.diar.app.service;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
 import dev.diar.app.port.*;
 import dev.diar.core.model.Category;
 import dev.diar.core.model.LogEntry;
 import dev.diar.core.model.Recording;
 import dev.diar.core.model.Tower;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 
 public class ExportImportService {
     private final CategoryRepository categoryRepository;
@@ -21,7 +35,18 @@ public class ExportImportService {
     private final RecordingRepository recordingRepository;
     private final SettingsRepository settingsRepository;
     private final ClockPort clock;
+    private final ChangeFeedPort changeFeed;
     private final ObjectMapper mapper;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final int IMPORT_BATCH_SIZE = 1000;
+    private static final int IMPORT_QUEUE_CAPACITY = 4;
+    // Positions reached by the last successful export; the next incremental export starts after them
+    static final String WATERMARK_CHANGES_KEY = "export.watermark.changes";
+    static final String WATERMARK_LOGS_KEY = "export.watermark.logs";
+    static final String ARCHIVE_BACKUP_PREFIX = "backup.";
+    static final String ARCHIVE_RECORDINGS_DIR = "recordings/";
+    private static final List<String> EXPORTED_SETTINGS = List.of("energy.level", "energy.exhausted", "energy.date", "last_reset_date");
 
     public ExportImportService(
         CategoryRepository categoryRepository,
@@ -30,6 +55,19 @@ public class ExportImportService {
         RecordingRepository recordingRepository,
         SettingsRepository settingsRepository,
         ClockPort clock
+    ) {
+        this(categoryRepository, logRepository, towerRepository, recordingRepository, settingsRepository, clock,
+            ChangeFeedPort.fullScan(categoryRepository, towerRepository, recordingRepository));
+    }
+
+    public ExportImportService(
+        CategoryRepository categoryRepository,
+        LogRepository logRepository,
+        TowerRepository towerRepository,
+        RecordingRepository recordingRepository,
+        SettingsRepository settingsRepository,
+        ClockPort clock,
+        ChangeFeedPort changeFeed
     ) {
         this.categoryRepository = Objects.requireNonNull(categoryRepository);
         this.logRepository = Objects.requireNonNull(logRepository);
@@ -37,103 +75,562 @@ public class ExportImportService {
         this.recordingRepository = Objects.requireNonNull(recordingRepository);
         this.settingsRepository = Objects.requireNonNull(settingsRepository);
         this.clock = Objects.requireNonNull(clock);
-        this.mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        this.changeFeed = Objects.requireNonNull(changeFeed);
+        this.mapper = new ObjectMapper();
     }
 
+    /**
+     * Backup file formats. JSON is readable and editable by hand; BINARY is the compact
+     * GZIP-compressed record format. importAll detects either from the first bytes.
+     */
+    public enum Format { JSON, BINARY }
+
     public void exportAll(Path file) {
+        exportAll(file, false);
+    }
+
+    /**
+     * Streams every section straight from the repositories to the file, one record at a time,
+     * so memory use does not grow with the size of the diary. Output is compact unless pretty is set.
+     */
+    public void exportAll(Path file, boolean pretty) {
+        export(file, Format.JSON, pretty, this::writeSnapshot);
+    }
+
+    public void exportAll(Path file, Format format) {
+        export(file, format, false, this::writeSnapshot);
+    }
+
+    /**
+     * Full backup that starts a new delta chain: the next exportChanges holds only what changed after it.
+     * exportAll and exportArchive leave the chain alone, so a one-off copy never makes a delta skip data.
+     */
+    public void exportBase(Path file, Format format) {
+        // Taken before reading, so anything written meanwhile is exported again next time rather than missed
+        long changeMark = changeFeed.lastSequence();
+        long logMark = logRepository.lastSequence();
+        export(file, format, false, this::writeSnapshot);
+        recordWatermark(changeMark, logMark);
+    }
+
+    /**
+     * Writes only what changed since the previous base or delta: deletions, the current state of
+     * categories, towers and recordings changed since, and logs added since. Applying the deltas in order
+     * onto the base, see importChain, gives the current data. Before any base, the delta holds everything.
+     */
+    public void exportChanges(Path file, Format format) {
+        long changesAfter = watermark(WATERMARK_CHANGES_KEY);
+        long logsAfter = watermark(WATERMARK_LOGS_KEY);
+        long changeMark = changeFeed.lastSequence();
+        long logMark = logRepository.lastSequence();
+        export(file, format, false, out -> writeChanges(out, changesAfter, logsAfter));
+        recordWatermark(changeMark, logMark);
+    }
+
+    private interface SnapshotSource {
+        void writeTo(SnapshotVisitor out) throws IOException;
+    }
+
+    private void export(Path file, Format format, boolean pretty, SnapshotSource source) {
         try {
-            Files.createDirectories(file.getParent());
-            ExportBundle bundle = new ExportBundle();
+            if (file.getParent() != null) Files.createDirectories(file.getParent());
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), WRITE_BUFFER_SIZE)) {
+                writeBackup(out, format, pretty, source);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            throw new RuntimeException("Export failed", e);
+        }
+    }
+
+    private void writeBackup(OutputStream out, Format format, boolean pretty, SnapshotSource source) throws IOException {
+        if (format == Format.BINARY) {
+            try (BinarySnapshotWriter writer = new BinarySnapshotWriter(out)) {
+                source.writeTo(writer);
+                writer.finish();
+            }
+        } else {
+            try (JsonGenerator gen = mapper.createGenerator(out, JsonEncoding.UTF8)) {
+                if (pretty) gen.useDefaultPrettyPrinter();
+                JsonSnapshotWriter writer = new JsonSnapshotWriter(gen);
+                source.writeTo(writer);
+                writer.finish();
+            }
+        }
+    }
 
-            // Categories
-            List<Category> categories = categoryRepository.findAll();
-            bundle.categories = categories;
+    private void recordWatermark(long changeMark, long logMark) {
+        settingsRepository.putAll(Map.of(
+            WATERMARK_CHANGES_KEY, Long.toString(changeMark),
+            WATERMARK_LOGS_KEY, Long.toString(logMark)
+        ));
+    }
 
-            // Towers and Logs per category
-            ZonedDateTime now = clock.now();
-            ZonedDateTime from = now.minusYears(100);
-            List<Tower> towers = new ArrayList<>();
-            List<LogEntry> logs = new ArrayList<>();
-            for (Category c : categories) {
-                towers.addAll(towerRepository.findByCategory(c.id()));
-                logs.addAll(logRepository.findByCategory(c.id(), from, now.plusYears(1)));
+    /**
+     * Writes one self-contained ZIP: the full backup in the given format, then the audio file of
+     * every recording. Audio entries are STORED and copied file to file with FileChannel.transferTo,
+     * so they are archived at disk speed without passing through the heap. A recording whose file
+     * is missing keeps its metadata only.
+     */
+    public void exportArchive(Path file, Format format) {
+        try {
+            if (file.getParent() != null) Files.createDirectories(file.getParent());
+            Map<String, Path> audio = new LinkedHashMap<>();
+            String backupName = ARCHIVE_BACKUP_PREFIX + (format == Format.BINARY ? "diarbak" : "json");
+            try (StoredZipWriter zip = new StoredZipWriter(file)) {
+                try (OutputStream out = new BufferedOutputStream(zip.openEntry(backupName, clock.now().toLocalDateTime()), WRITE_BUFFER_SIZE)) {
+                    // Recordings point at their entry in the archive instead of this machine's path
+                    writeBackup(out, format, false, visitor -> writeSnapshot(visitor, r -> {
+                        Path source = Path.of(r.filePath());
+                        if (!Files.isRegularFile(source)) return r;
+                        String name = ARCHIVE_RECORDINGS_DIR + source.getFileName();
+                        if (audio.containsKey(name)) name = ARCHIVE_RECORDINGS_DIR + r.id() + "-" + source.getFileName();
+                        audio.put(name, source);
+                        return new Recording(r.id(), name, r.createdAt(), r.durationSeconds());
+                    }));
+                }
+                for (Map.Entry<String, Path> entry : audio.entrySet()) {
+                    LocalDateTime modified = LocalDateTime.ofInstant(Files.getLastModifiedTime(entry.getValue()).toInstant(), ZoneId.systemDefault());
+                    zip.addFile(entry.getKey(), entry.getValue(), modified);
+                }
             }
-            bundle.towers = towers;
-            bundle.logs = logs;
+        } catch (IOException | UncheckedIOException e) {
+            throw new RuntimeException("Export failed", e);
+        }
+    }
 
-            // Recordings metadata
-            bundle.recordings = recordingRepository.findAll();
+    private long watermark(String key) {
+        return settingsRepository.get(key).map(Long::parseLong).orElse(0L);
+    }
 
-            // Selected settings keys
-            Map<String,String> settings = new LinkedHashMap<>();
-            for (String key : List.of("energy.level", "energy.exhausted", "energy.date", "last_reset_date")) {
-                settingsRepository.get(key).ifPresent(val -> settings.put(key, val));
+    private void writeChanges(SnapshotVisitor out, long changesAfter, long logsAfter) throws IOException {
+        changeFeed.forEachChangeAfter(changesAfter, new ChangeFeedPort.Visitor() {
+            @Override
+            public void category(Category c) {
+                unchecked(() -> out.category(c));
             }
-            bundle.settings = settings;
 
-            mapper.writeValue(file.toFile(), bundle);
+            @Override
+            public void tower(Tower t) {
+                unchecked(() -> out.tower(t));
+            }
+
+            @Override
+            public void recording(Recording r) {
+                unchecked(() -> out.recording(r));
+            }
+
+            @Override
+            public void deleted(ChangeFeedPort.Entity entity, String id) {
+                unchecked(() -> out.deleted(entity, id));
+            }
+        });
+        logRepository.forEachAddedAfter(logsAfter, le -> unchecked(() -> out.log(le)));
+        writeSettings(out);
+    }
+
+    private interface IoAction {
+        void run() throws IOException;
+    }
+
+    private static void unchecked(IoAction action) {
+        try {
+            action.run();
         } catch (IOException e) {
-            throw new RuntimeException("Export failed", e);
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeSettings(SnapshotVisitor out) throws IOException {
+        for (String key : EXPORTED_SETTINGS) {
+            Optional<String> value = settingsRepository.get(key);
+            if (value.isPresent()) out.setting(key, value.get());
         }
     }
 
+    private void writeSnapshot(SnapshotVisitor out) throws IOException {
+        writeSnapshot(out, UnaryOperator.identity());
+    }
+
+    private void writeSnapshot(SnapshotVisitor out, UnaryOperator<Recording> recordingMapper) throws IOException {
+        // Categories
+        List<Category> categories = categoryRepository.findAll();
+        for (Category c : categories) {
+            out.category(c);
+        }
+
+        // Towers per category
+        for (Category c : categories) {
+            for (Tower t : towerRepository.findByCategory(c.id())) {
+                out.tower(t);
+            }
+        }
+
+        // Logs per category, written as the cursor advances
+        ZonedDateTime now = clock.now();
+        ZonedDateTime from = now.minusYears(100);
+        for (Category c : categories) {
+            logRepository.forEachByCategory(c.id(), from, now.plusYears(1), le -> unchecked(() -> out.log(le)));
+        }
+
+        // Recordings metadata
+        for (Recording r : recordingRepository.findAll()) {
+            out.recording(recordingMapper.apply(r));
+        }
+
+        // Selected settings keys
+        writeSettings(out);
+    }
+
+    /**
+     * Parses the file record by record and hands batches of entities to a writer thread, so parsing
+     * and database writes overlap and memory holds only a few batches at a time.
+     * Sections are read in export order: ids of categories and towers are remapped before the
+     * towers and logs that refer to them. The format is detected from the file's first bytes.
+     */
     public void importAll(Path file, boolean remapIds) {
-        try {
-            ExportBundle bundle = mapper.readValue(file.toFile(), ExportBundle.class);
-            if (bundle == null) return;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file), READ_BUFFER_SIZE)) {
+            importFrom(in, remapIds, UnaryOperator.identity());
+        } catch (IOException e) {
+            throw new RuntimeException("Import failed", e);
+        }
+    }
 
-            Map<String,String> catIdMap = new HashMap<>();
+    private void importFrom(InputStream in, boolean remapIds, UnaryOperator<String> recordingPaths) throws IOException {
+        try (ImportPipeline pipeline = new ImportPipeline(IMPORT_QUEUE_CAPACITY)) {
+            Importer importer = new Importer(pipeline, remapIds, recordingPaths);
+            if (isGzip(in)) {
+                try (BinarySnapshotReader reader = new BinarySnapshotReader(in)) {
+                    reader.readAll(importer);
+                }
+            } else {
+                readJson(in, importer);
+            }
+            importer.finish();
+            pipeline.finish();
+        }
+    }
 
-            // Categories first
-            for (Category c : nonNull(bundle.categories)) {
-                String id = c.id();
-                String newId = remapIds ? UUID.randomUUID().toString() : id;
-                catIdMap.put(id, newId);
-                Category toSave = new Category(newId, c.name(), c.towerBlockTarget());
-                categoryRepository.save(toSave);
+    /**
+     * Restores an archive written by exportArchive. Audio files are copied into recordingsDir with
+     * FileChannel.transferTo and checked against their CRC, and each recording is pointed at its copy.
+     * Existing files are never overwritten; a clashing name gets a numeric suffix. If the archive
+     * holds no backup or the import fails, the copied audio files are removed again.
+     */
+    public void importArchive(Path file, Path recordingsDir, boolean remapIds) {
+        List<Path> extracted = new ArrayList<>();
+        try (StoredZipReader zip = new StoredZipReader(file)) {
+            StoredZipReader.Entry backup = null;
+            for (StoredZipReader.Entry entry : zip.entries()) {
+                if (entry.name().startsWith(ARCHIVE_BACKUP_PREFIX)) {
+                    backup = entry;
+                    break;
+                }
             }
+            if (backup == null) throw new IOException("Archive holds no backup");
 
-            // Towers next
-            for (Tower t : nonNull(bundle.towers)) {
-                String newId = remapIds ? UUID.randomUUID().toString() : t.id();
-                String newCatId = catIdMap.getOrDefault(t.categoryId(), t.categoryId());
-                Tower toSave = new Tower(newId, newCatId, t.blockTarget(), t.blocksCompleted(), t.completedOn());
-                towerRepository.save(toSave);
+            Files.createDirectories(recordingsDir);
+            Map<String, String> audioPaths = new HashMap<>();
+            for (StoredZipReader.Entry entry : zip.entries()) {
+                String name = entry.name();
+                if (!name.startsWith(ARCHIVE_RECORDINGS_DIR)) continue;
+                // Only the last path element is used, so entries cannot escape recordingsDir
+                Path fileName = Path.of(name.substring(ARCHIVE_RECORDINGS_DIR.length())).getFileName();
+                if (fileName == null || fileName.toString().equals("..") || fileName.toString().equals(".")) continue;
+                Path target = freePath(recordingsDir, fileName.toString());
+                extracted.add(target);
+                zip.extract(entry, target);
+                audioPaths.put(name, target.toString());
+            }
+            try (InputStream in = new BufferedInputStream(zip.open(backup), READ_BUFFER_SIZE)) {
+                importFrom(in, remapIds, path -> audioPaths.getOrDefault(path, path));
             }
+        } catch (IOException | RuntimeException e) {
+            for (Path p : extracted) {
+                try {
+                    Files.deleteIfExists(p);
+                } catch (IOException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+            }
+            if (e instanceof RuntimeException re) throw re;
+            throw new RuntimeException("Import failed", e);
+        }
+    }
 
-            // Logs next
-            for (LogEntry le : nonNull(bundle.logs)) {
-                String newId = remapIds ? UUID.randomUUID().toString() : le.id();
-                String newCatId = catIdMap.getOrDefault(le.categoryId(), le.categoryId());
-                LogEntry toSave = new LogEntry(newId, newCatId, le.note(), le.createdAt());
-                logRepository.save(toSave);
+    private static Path freePath(Path dir, String fileName) {
+        Path candidate = dir.resolve(fileName);
+        int dot = fileName.lastIndexOf('.');
+        String base = dot > 0 ? fileName.substring(0, dot) : fileName;
+        String extension = dot > 0 ? fileName.substring(dot) : "";
+        for (int i = 1; Files.exists(candidate); i++) {
+            candidate = dir.resolve(base + "-" + i + extension);
+        }
+        return candidate;
+    }
+
+    /**
+     * Restores a full backup and then applies incremental backups on top, oldest first.
+     * Ids are kept as they are, since each delta refers to the entities of the backups before it.
+     */
+    public void importChain(Path base, List<Path> deltas) {
+        importAll(base, false);
+        for (Path delta : deltas) {
+            importAll(delta, false);
+        }
+    }
+
+    private static boolean isGzip(InputStream in) throws IOException {
+        in.mark(2);
+        int b1 = in.read();
+        int b2 = in.read();
+        in.reset();
+        return b1 == 0x1f && b2 == 0x8b;
+    }
+
+    private void readJson(InputStream in, Importer importer) throws IOException {
+        try (JsonParser parser = mapper.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) return;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String section = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (value == JsonToken.VALUE_NULL) continue;
+                switch (section) {
+                    case "categories" -> readArray(parser, CategoryData.class, c -> importer.category(c.toModel()));
+                    case "towers" -> readArray(parser, TowerData.class, t -> importer.tower(t.toModel()));
+                    case "logs" -> readArray(parser, LogData.class, le -> importer.log(le.toModel()));
+                    case "recordings" -> readArray(parser, RecordingData.class, r -> importer.recording(r.toModel()));
+                    case "deleted" -> readArray(parser, DeletedData.class, d -> importer.deleted(d.entity(), d.id()));
+                    case "settings" -> {
+                        Map<String,String> settings = parser.readValueAs(new TypeReference<LinkedHashMap<String,String>>() {});
+                        settings.forEach(importer::setting);
+                    }
+                    default -> parser.skipChildren();
+                }
             }
+        }
+    }
+
+    private static <D> void readArray(JsonParser parser, Class<D> type, Consumer<D> each) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            each.accept(parser.readValueAs(type));
+        }
+    }
+
+    // Writes the visited records as the JSON sections, opening each section on its first record
+    private static final class JsonSnapshotWriter implements SnapshotVisitor {
+        private final JsonGenerator gen;
+        private String section;
+
+        JsonSnapshotWriter(JsonGenerator gen) throws IOException {
+            this.gen = gen;
+            gen.writeStartObject();
+        }
+
+        @Override
+        public void category(Category c) throws IOException {
+            section("categories");
+            gen.writeObject(CategoryData.of(c));
+        }
+
+        @Override
+        public void tower(Tower t) throws IOException {
+            section("towers");
+            gen.writeObject(TowerData.of(t));
+        }
+
+        @Override
+        public void log(LogEntry le) throws IOException {
+            section("logs");
+            gen.writeObject(LogData.of(le));
+        }
+
+        @Override
+        public void recording(Recording r) throws IOException {
+            section("recordings");
+            gen.writeObject(RecordingData.of(r));
+        }
+
+        @Override
+        public void setting(String key, String value) throws IOException {
+            section("settings");
+            gen.writeStringField(key, value);
+        }
+
+        @Override
+        public void deleted(ChangeFeedPort.Entity entity, String id) throws IOException {
+            section("deleted");
+            gen.writeObject(new DeletedData(entity, id));
+        }
+
+        void finish() throws IOException {
+            section(null);
+            gen.writeEndObject();
+        }
+
+        private void section(String name) throws IOException {
+            if (Objects.equals(section, name)) return;
+            if (section != null) {
+                if (section.equals("settings")) gen.writeEndObject(); else gen.writeEndArray();
+            }
+            section = name;
+            if (name == null) return;
+            if (name.equals("settings")) gen.writeObjectFieldStart(name); else gen.writeArrayFieldStart(name);
+        }
+    }
+
+    // Remaps ids and groups consecutive records of one kind into batches of IMPORT_BATCH_SIZE
+    private final class Importer implements SnapshotVisitor {
+        private final ImportPipeline pipeline;
+        private final boolean remapIds;
+        private final Map<String,String> catIdMap = new HashMap<>();
+        private final Map<String,String> towerIdMap = new HashMap<>();
+        private final Batch<Category> categories = new Batch<>(categoryRepository::saveAll);
+        private final Batch<Tower> towers = new Batch<>(towerRepository::saveAll);
+        private final Batch<LogEntry> logs = new Batch<>(logRepository::saveAll);
+        private final Batch<Recording> recordings = new Batch<>(recordingRepository::saveAll);
+        private final Map<String,String> settings = new LinkedHashMap<>();
+        private final UnaryOperator<String> recordingPaths;
+        private Batch<?> current;
+
+        Importer(ImportPipeline pipeline, boolean remapIds, UnaryOperator<String> recordingPaths) {
+            this.pipeline = pipeline;
+            this.remapIds = remapIds;
+            this.recordingPaths = recordingPaths;
+        }
+
+        @Override
+        public void category(Category c) {
+            String newId = newId(c.id());
+            catIdMap.put(c.id(), newId);
+            add(categories, new Category(newId, c.name(), c.towerBlockTarget()));
+        }
+
+        @Override
+        public void tower(Tower t) {
+            String newId = newId(t.id());
+            towerIdMap.put(t.id(), newId);
+            String newCatId = catIdMap.getOrDefault(t.categoryId(), t.categoryId());
+            add(towers, new Tower(newId, newCatId, t.blockTarget(), t.blocksCompleted(), t.completedOn()));
+        }
+
+        @Override
+        public void log(LogEntry le) {
+            String newCatId = catIdMap.getOrDefault(le.categoryId(), le.categoryId());
+            // Exports made before logs were linked to towers carry no towerId
+            String newTowerId = le.towerId() != null ? towerIdMap.getOrDefault(le.towerId(), le.towerId()) : null;
+            add(logs, new LogEntry(newId(le.id()), newCatId, newTowerId, le.note(), le.createdAt()));
+        }
+
+        // Recordings metadata (do not move audio files; just import metadata)
+        @Override
+        public void recording(Recording r) {
+            add(recordings, new Recording(newId(r.id()), recordingPaths.apply(r.filePath()), r.createdAt(), r.durationSeconds()));
+        }
 
-            // Recordings metadata (do not move audio files; just import metadata)
-            for (Recording rec : nonNull(bundle.recordings)) {
-                String newId = remapIds ? UUID.randomUUID().toString() : rec.id();
-                Recording toSave = new Recording(newId, rec.filePath(), rec.createdAt(), rec.durationSeconds());
-                recordingRepository.save(toSave);
+        @Override
+        public void setting(String key, String value) {
+            settings.put(key, value);
+        }
+
+        @Override
+        public void deleted(ChangeFeedPort.Entity entity, String id) {
+            flush();
+            switch (entity) {
+                case CATEGORY -> {
+                    String catId = catIdMap.getOrDefault(id, id);
+                    pipeline.submit(() -> categoryRepository.delete(catId));
+                }
+                case RECORDING -> pipeline.submit(() -> recordingRepository.delete(id));
+                // Towers are only ever deleted by hand; there is nothing to replay them with
+                case TOWER -> { }
             }
+        }
 
-            // Settings
-            if (bundle.settings != null) {
-                bundle.settings.forEach(settingsRepository::put);
+        void finish() {
+            flush();
+            if (!settings.isEmpty()) {
+                Map<String,String> values = new LinkedHashMap<>(settings);
+                pipeline.submit(() -> settingsRepository.putAll(values));
             }
-        } catch (IOException e) {
-            throw new RuntimeException("Import failed", e);
+        }
+
+        private String newId(String id) {
+            return remapIds ? UUID.randomUUID().toString() : id;
+        }
+
+        private <T> void add(Batch<T> batch, T item) {
+            if (current != batch) flush();
+            current = batch;
+            batch.items.add(item);
+            if (batch.items.size() == IMPORT_BATCH_SIZE) flush();
+        }
+
+        private void flush() {
+            if (current != null) current.submitTo(pipeline);
         }
     }
 
-    private static <T> List<T> nonNull(List<T> list) {
-        return list == null ? List.of() : list;
+    private static final class Batch<T> {
+        private final Consumer<List<T>> saveAll;
+        private List<T> items = new ArrayList<>(IMPORT_BATCH_SIZE);
+
+        Batch(Consumer<List<T>> saveAll) {
+            this.saveAll = saveAll;
+        }
+
+        void submitTo(ImportPipeline pipeline) {
+            if (items.isEmpty()) return;
+            List<T> full = items;
+            pipeline.submit(() -> saveAll.accept(full));
+            items = new ArrayList<>(IMPORT_BATCH_SIZE);
+        }
     }
 
-    public static class ExportBundle {
-        public List<Category> categories;
-        public List<Tower> towers;
-        public List<LogEntry> logs;
-        public List<Recording> recordings;
-        public Map<String,String> settings;
+    // Serialized shapes of the domain models; dates are kept as ISO-8601 strings.
+    public record CategoryData(String id, String name, int towerBlockTarget) {
+        static CategoryData of(Category c) {
+            return new CategoryData(c.id(), c.name(), c.towerBlockTarget());
+        }
+
+        Category toModel() {
+            return new Category(id, name, towerBlockTarget);
+        }
+    }
+
+    public record TowerData(String id, String categoryId, int blockTarget, int blocksCompleted, String completedOn) {
+        static TowerData of(Tower t) {
+            String completedOn = t.completedOn() != null ? t.completedOn().toString() : null;
+            return new TowerData(t.id(), t.categoryId(), t.blockTarget(), t.blocksCompleted(), completedOn);
+        }
+
+        Tower toModel() {
+            return new Tower(id, categoryId, blockTarget, blocksCompleted, completedOn != null ? LocalDate.parse(completedOn) : null);
+        }
     }
+
+    public record LogData(String id, String categoryId, String towerId, String note, String createdAt) {
+        static LogData of(LogEntry le) {
+            return new LogData(le.id(), le.categoryId(), le.towerId(), le.note(), le.createdAt().toString());
+        }
+
+        LogEntry toModel() {
+            return new LogEntry(id, categoryId, towerId, note, ZonedDateTime.parse(createdAt));
+        }
+    }
+
+    public record RecordingData(String id, String filePath, String createdAt, Integer durationSeconds) {
+        static RecordingData of(Recording r) {
+            return new RecordingData(r.id(), r.filePath(), r.createdAt().toString(), r.durationSeconds());
+        }
+
+        Recording toModel() {
+            return new Recording(id, filePath, ZonedDateTime.parse(createdAt), durationSeconds);
+        }
+    }
+
+    public record DeletedData(ChangeFeedPort.Entity entity, String id) {}
 }
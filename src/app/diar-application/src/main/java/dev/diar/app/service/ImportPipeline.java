@@ -0,0 +1,84 @@
+package dev.diar.app.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs write batches on one background thread, in submission order, while the caller keeps parsing.
+ * The queue is bounded, so a slow writer holds the parser back instead of letting batches pile up.
+ * A failed batch stops the pipeline; the failure is rethrown to the submitting thread.
+ */
+final class ImportPipeline implements AutoCloseable {
+    private static final Runnable END = () -> {};
+
+    private final BlockingQueue<Runnable> queue;
+    private final Thread writer;
+    private volatile Throwable failure;
+
+    ImportPipeline(int capacity) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.writer = new Thread(this::drain, "diar-import-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    void submit(Runnable batch) {
+        try {
+            while (!queue.offer(batch, 100, TimeUnit.MILLISECONDS)) {
+                rethrowFailure();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Import interrupted", e);
+        }
+        rethrowFailure();
+    }
+
+    // Waits until every submitted batch has been written.
+    void finish() {
+        submit(END);
+        awaitWriter();
+        rethrowFailure();
+    }
+
+    @Override
+    public void close() {
+        // After a parse error: stop the writer without waiting for batches still queued
+        if (!writer.isAlive()) return;
+        queue.clear();
+        queue.offer(END);
+        awaitWriter();
+    }
+
+    private void drain() {
+        try {
+            while (true) {
+                Runnable batch = queue.take();
+                if (batch == END) return;
+                batch.run();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable t) {
+            failure = t;
+        }
+    }
+
+    private void awaitWriter() {
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Import interrupted", e);
+        }
+    }
+
+    private void rethrowFailure() {
+        Throwable t = failure;
+        if (t == null) return;
+        if (t instanceof RuntimeException re) throw re;
+        if (t instanceof Error err) throw err;
+        throw new RuntimeException(t);
+    }
+}
@@ -1,41 +1,35 @@
 package dev.diar.app.service;
 
-import dev.diar.app.port.CategoryRepository;
 import dev.diar.app.port.ClockPort;
 import dev.diar.app.port.LogRepository;
-import dev.diar.core.model.Category;
 import dev.diar.core.model.LogEntry;
 
+import java.nio.charset.StandardCharsets;
 import java.time.ZonedDateTime;
-import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
-import java.util.Locale;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
 public class LogQueryService {
     private final LogRepository logRepository;
-    private final CategoryRepository categoryRepository;
     private final ClockPort clock;
 
-    public LogQueryService(LogRepository logRepository, CategoryRepository categoryRepository, ClockPort clock) {
+    public LogQueryService(LogRepository logRepository, ClockPort clock) {
         this.logRepository = Objects.requireNonNull(logRepository);
-        this.categoryRepository = Objects.requireNonNull(categoryRepository);
         this.clock = Objects.requireNonNull(clock);
     }
 
     public List<LogEntry> recentLogs(int lastNDays) {
-        if (lastNDays <= 0) return List.of();
+        return recentLogs(lastNDays, Integer.MAX_VALUE);
+    }
+
+    public List<LogEntry> recentLogs(int lastNDays, int limit) {
+        if (lastNDays <= 0 || limit <= 0) return List.of();
         ZonedDateTime to = clock.now();
         ZonedDateTime from = to.minusDays(lastNDays);
-        List<LogEntry> all = new ArrayList<>();
-        for (Category c : categoryRepository.findAll()) {
-            all.addAll(logRepository.findByCategory(c.id(), from, to));
-        }
-        // sort desc by createdAt
-        return all.stream()
-            .sorted((a,b) -> b.createdAt().compareTo(a.createdAt()))
-            .collect(Collectors.toList());
+        // Single query across categories, already newest first
+        return logRepository.findRange(from, to, limit);
     }
 
     public List<LogEntry> logsByCategory(String categoryId, ZonedDateTime fromInclusive, ZonedDateTime toExclusive) {
@@ -45,14 +39,57 @@ public class LogQueryService {
             .collect(Collectors.toList());
     }
 
+    /**
+     * One page of logs, newest first. Pass the previous page's token to continue; null starts at the top.
+     * categoryId may be null to browse all categories. Each page is a keyset seek, so cost does not grow with depth.
+     */
+    public LogPage pageLogs(String categoryId, int pageSize, String continuationToken) {
+        if (pageSize <= 0) throw new IllegalArgumentException("pageSize must be positive");
+        ZonedDateTime now = clock.now();
+        LogRepository.PageKey after = decodeToken(continuationToken);
+        // Fetch one extra row to learn whether another page exists
+        List<LogEntry> rows = logRepository.findPage(categoryId, now.minusYears(100), now.plusYears(1), after, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new LogPage(rows, null);
+        }
+        List<LogEntry> page = List.copyOf(rows.subList(0, pageSize));
+        return new LogPage(page, encodeToken(page.get(pageSize - 1)));
+    }
+
+    public long countByCategory(String categoryId, ZonedDateTime fromInclusive, ZonedDateTime toExclusive) {
+        return logRepository.countByCategory(categoryId, fromInclusive, toExclusive);
+    }
+
     public List<LogEntry> searchNotes(String query, int lastNDays) {
-        if (query == null || query.isBlank()) return List.of();
-        String q = query.toLowerCase(Locale.ROOT);
-        return recentLogs(lastNDays).stream()
-            .filter(le -> {
-                String note = le.note();
-                return note != null && note.toLowerCase(Locale.ROOT).contains(q);
-            })
-            .collect(Collectors.toList());
+        return searchNotes(query, lastNDays, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Best matches first. Each word of the query matches the start of a word in the note, ignoring case.
+     */
+    public List<LogEntry> searchNotes(String query, int lastNDays, int limit) {
+        if (query == null || query.isBlank() || lastNDays <= 0 || limit <= 0) return List.of();
+        ZonedDateTime to = clock.now();
+        return logRepository.searchNotes(query, to.minusDays(lastNDays), to, limit);
+    }
+
+    private static String encodeToken(LogEntry last) {
+        String raw = last.createdAt().toInstant().toEpochMilli() + ":" + last.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static LogRepository.PageKey decodeToken(String token) {
+        if (token == null || token.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(':');
+            return new LogRepository.PageKey(Long.parseLong(raw.substring(0, sep)), raw.substring(sep + 1));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid continuation token", e);
+        }
+    }
+
+    public record LogPage(List<LogEntry> entries, String nextToken) {
+        public boolean hasMore() { return nextToken != null; }
     }
 }
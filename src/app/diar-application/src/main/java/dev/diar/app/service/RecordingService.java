@@ -8,7 +8,11 @@ import dev.diar.core.model.Recording;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.function.Consumer;
@@ -40,8 +44,15 @@ public class RecordingService {
             String id = UUID.randomUUID().toString();
             String fileName = id + ".wav";
             Path targetFile = recordingsDir.resolve(fileName);
-            
-            audioCapturePort.startRecording(targetFile, levelMeterCallback);
+
+            // In-progress row, completed on stop or by recovery after a crash
+            recordingRepository.saveInProgress(new Recording(id, targetFile.toString(), clock.now(), null));
+            try {
+                audioCapturePort.startRecording(targetFile, levelMeterCallback);
+            } catch (Exception e) {
+                recordingRepository.delete(id);
+                throw e;
+            }
             
             return id;
         } catch (Exception e) {
@@ -56,7 +67,14 @@ public class RecordingService {
             String fileName = id + ".wav";
             Path targetFile = recordingsDir.resolve(fileName);
 
-            audioCapturePort.startRecordingWithSpectrum(targetFile, levelMeterCallback, spectrumCallback);
+            // In-progress row, completed on stop or by recovery after a crash
+            recordingRepository.saveInProgress(new Recording(id, targetFile.toString(), clock.now(), null));
+            try {
+                audioCapturePort.startRecordingWithSpectrum(targetFile, levelMeterCallback, spectrumCallback);
+            } catch (Exception e) {
+                recordingRepository.delete(id);
+                throw e;
+            }
 
             return id;
         } catch (Exception e) {
@@ -67,24 +85,18 @@ public class RecordingService {
     public Recording stopRecording(String recordingId) {
         try {
             Path filePath = audioCapturePort.stopRecording();
-
-            Integer durationSeconds = null;
-            try (AudioInputStream ais = AudioSystem.getAudioInputStream(filePath.toFile())) {
-                AudioFormat format = ais.getFormat();
-                long frames = ais.getFrameLength();
-                if (frames > 0 && format.getFrameRate() > 0) {
-                    double seconds = frames / format.getFrameRate();
-                    durationSeconds = (int) Math.round(seconds);
-                }
-            } catch (Exception ignored) {
-                // Leave duration as null if we cannot read it
-            }
+            // The take is dated by when it started, as a recovered one is
+            ZonedDateTime startedAt = recordingRepository.findInProgress().stream()
+                .filter(r -> r.id().equals(recordingId))
+                .map(Recording::createdAt)
+                .findFirst()
+                .orElseGet(clock::now);
 
             Recording recording = new Recording(
                 recordingId,
                 filePath.toString(),
-                clock.now(),
-                durationSeconds
+                startedAt,
+                readDurationSeconds(filePath)
             );
             recordingRepository.save(recording);
 
@@ -94,10 +106,63 @@ public class RecordingService {
         }
     }
 
+    private static Integer readDurationSeconds(Path filePath) {
+        try (AudioInputStream ais = AudioSystem.getAudioInputStream(filePath.toFile())) {
+            AudioFormat format = ais.getFormat();
+            long frames = ais.getFrameLength();
+            if (frames > 0 && format.getFrameRate() > 0) {
+                double seconds = frames / format.getFrameRate();
+                return (int) Math.round(seconds);
+            }
+        } catch (Exception ignored) {
+            // Leave duration as null if we cannot read it
+        }
+        return null;
+    }
+
     public boolean isRecording() {
         return audioCapturePort.isRecording();
     }
 
+    /**
+     * Finalizes takes cut short by a crash into regular recordings. A take is matched to its
+     * in-progress row by id, the name stem it was started under, and keeps that row's id and start
+     * time; a take without one gets a new row. An in-progress row left over after that is completed
+     * if its file made it into place before the crash, and deleted otherwise; a damaged partial
+     * stays on disk untouched. Finished recordings are never touched, whether or not their file is here.
+     */
+    public List<Recording> recoverInterruptedRecordings() {
+        try {
+            // The partial of a live take is not orphaned, and neither is its row
+            if (audioCapturePort.isRecording()) return List.of();
+            Map<String, Recording> inProgress = new HashMap<>();
+            for (Recording r : recordingRepository.findInProgress()) inProgress.put(r.id(), r);
+            List<Recording> recovered = new ArrayList<>();
+            for (AudioCapturePort.RecoveredRecording take : audioCapturePort.recoverInterruptedRecordings(recordingsDir)) {
+                Recording row = inProgress.remove(take.id());
+                Recording recording = row != null
+                    ? new Recording(row.id(), take.file().toString(), row.createdAt(), take.durationSeconds())
+                    : new Recording(UUID.randomUUID().toString(), take.file().toString(), take.startedAt(), take.durationSeconds());
+                recordingRepository.save(recording);
+                recovered.add(recording);
+            }
+            for (Recording row : inProgress.values()) {
+                Path file = Path.of(row.filePath());
+                if (Files.isRegularFile(file)) {
+                    // The take was finished on disk, but the process died before its row was
+                    Recording recording = new Recording(row.id(), row.filePath(), row.createdAt(), readDurationSeconds(file));
+                    recordingRepository.save(recording);
+                    recovered.add(recording);
+                } else {
+                    recordingRepository.delete(row.id());
+                }
+            }
+            return recovered;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to recover recordings", e);
+        }
+    }
+
     public void setInputGain(double gain) {
         audioCapturePort.setInputGain(gain);
     }
@@ -118,6 +183,10 @@ public class RecordingService {
         return audioCapturePort.getInputDevice();
     }
 
+    public AudioCapturePort.CaptureStats getCaptureStats() {
+        return audioCapturePort.getCaptureStats();
+    }
+
     public List<Recording> getAllRecordings() {
         return recordingRepository.findAll();
     }
@@ -3,6 +3,7 @@ package dev.diar.app.service;
 import dev.diar.app.port.SettingsRepository;
 
 import java.time.LocalDate;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -20,6 +21,7 @@ public class SettingsService {
 
     public Optional<String> getRaw(String key) { return repo.get(key); }
     public void putRaw(String key, String value) { repo.put(key, value); }
+    public void putAll(Map<String, String> values) { repo.putAll(values); }
 
     public int getInt(String key, int defaultValue) {
         return repo.get(key).map(Integer::parseInt).orElse(defaultValue);
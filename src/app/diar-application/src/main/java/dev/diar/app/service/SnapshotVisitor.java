@@ -0,0 +1,28 @@
+package dev.diar.app.service;
+
+import dev.diar.app.port.ChangeFeedPort;
+import dev.diar.core.model.Category;
+import dev.diar.core.model.LogEntry;
+import dev.diar.core.model.Recording;
+import dev.diar.core.model.Tower;
+
+import java.io.IOException;
+
+/**
+ * Receives the records of a backup one at a time. Full backups come in the order categories, towers,
+ * logs, recordings, settings. Incremental backups hold only what changed since the previous export,
+ * including deletions. Backup writers implement it, and backup readers call it.
+ */
+interface SnapshotVisitor {
+    void category(Category category) throws IOException;
+
+    void tower(Tower tower) throws IOException;
+
+    void log(LogEntry log) throws IOException;
+
+    void recording(Recording recording) throws IOException;
+
+    void setting(String key, String value) throws IOException;
+
+    void deleted(ChangeFeedPort.Entity entity, String id) throws IOException;
+}
@@ -2,15 +2,13 @@ package dev.diar.app.service;
 
 import dev.diar.app.port.CategoryRepository;
 import dev.diar.app.port.ClockPort;
+import dev.diar.app.port.DashboardQueryPort;
 import dev.diar.app.port.LogRepository;
 import dev.diar.app.port.TowerRepository;
 import dev.diar.core.model.Category;
-import dev.diar.core.model.LogEntry;
 import dev.diar.core.model.Tower;
 
 import java.time.LocalDate;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -22,58 +20,70 @@ public class StatisticsService {
     private final LogRepository logRepository;
     private final TowerRepository towerRepository;
     private final ClockPort clock;
+    private final DashboardQueryPort dashboardQuery;
 
     public StatisticsService(
         CategoryRepository categoryRepository,
         LogRepository logRepository,
         TowerRepository towerRepository,
         ClockPort clock
+    ) {
+        this(categoryRepository, logRepository, towerRepository, clock,
+            DashboardQueryPort.from(categoryRepository, towerRepository));
+    }
+
+    public StatisticsService(
+        CategoryRepository categoryRepository,
+        LogRepository logRepository,
+        TowerRepository towerRepository,
+        ClockPort clock,
+        DashboardQueryPort dashboardQuery
     ) {
         this.categoryRepository = Objects.requireNonNull(categoryRepository);
         this.logRepository = Objects.requireNonNull(logRepository);
         this.towerRepository = Objects.requireNonNull(towerRepository);
         this.clock = Objects.requireNonNull(clock);
+        this.dashboardQuery = Objects.requireNonNull(dashboardQuery);
     }
 
     public Map<LocalDate, Long> blocksPerDay(int lastNDays) {
         Map<LocalDate, Long> result = new LinkedHashMap<>();
-        ZonedDateTime to = clock.now();
-        ZonedDateTime from = to.minusDays(lastNDays);
-        ZoneId zone = to.getZone();
-
+        LocalDate today = clock.today();
+        if (lastNDays <= 0) return result;
+        // Read from the daily rollup: O(days x categories) rows however long the history is
+        Map<LocalDate, Long> counts = logRepository.countPerLocalDay(today.minusDays(lastNDays - 1), today);
         for (int i = lastNDays - 1; i >= 0; i--) {
-            result.put(to.minusDays(i).toLocalDate(), 0L);
-        }
-
-        for (Category c : categoryRepository.findAll()) {
-            List<LogEntry> logs = logRepository.findByCategory(c.id(), from, to);
-            for (LogEntry le : logs) {
-                LocalDate day = le.createdAt().withZoneSameInstant(zone).toLocalDate();
-                if (result.containsKey(day)) {
-                    result.put(day, result.get(day) + 1);
-                }
-            }
+            LocalDate day = today.minusDays(i);
+            result.put(day, counts.getOrDefault(day, 0L));
         }
         return result;
     }
 
+    /**
+     * Recomputes the per-day block rollup from the raw logs, e.g. after editing the database by hand.
+     */
+    public void rebuildDailyCounts() {
+        logRepository.rebuildDailyCounts();
+    }
+
+    /**
+     * Rebuilds the per-day block rollup if its per-category totals no longer match the logs, and
+     * returns whether it did. Run at startup, so a drifted rollup is repaired before anything reads it.
+     */
+    public boolean repairDailyCounts() {
+        if (logRepository.dailyCountsMatch()) return false;
+        logRepository.rebuildDailyCounts();
+        return true;
+    }
+
     public Map<LocalDate, Long> towersCompletedPerDay(int lastNDays) {
         Map<LocalDate, Long> result = new LinkedHashMap<>();
         LocalDate today = clock.today();
+        if (lastNDays <= 0) return result;
+        Map<LocalDate, Long> counts = towerRepository.countCompletedPerDay(today.minusDays(lastNDays - 1), today);
         for (int i = lastNDays - 1; i >= 0; i--) {
-            result.put(today.minusDays(i), 0L);
-        }
-
-        for (Category c : categoryRepository.findAll()) {
-            List<Tower> towers = towerRepository.findByCategory(c.id());
-            for (Tower t : towers) {
-                if (t.completedOn() != null) {
-                    LocalDate day = t.completedOn();
-                    if (result.containsKey(day)) {
-                        result.put(day, result.get(day) + 1);
-                    }
-                }
-            }
+            LocalDate day = today.minusDays(i);
+            result.put(day, counts.getOrDefault(day, 0L));
         }
         return result;
     }
@@ -81,21 +91,23 @@ public class StatisticsService {
     public CategoryProgress categoryProgress(String categoryId) {
         Category c = categoryRepository.findById(categoryId)
             .orElseThrow(() -> new IllegalArgumentException("Category not found: " + categoryId));
-        Optional<Tower> active = towerRepository.findByCategory(categoryId).stream()
-            .filter(t -> !t.isCompleted())
-            .findFirst();
-        int completed = active.map(Tower::blocksCompleted).orElse(0);
-        int target = c.towerBlockTarget();
-        double ratio = target > 0 ? (double) completed / (double) target : 0.0;
-        return new CategoryProgress(c.id(), c.name(), completed, target, ratio);
+        return toProgress(c, towerRepository.findActive(categoryId));
     }
 
     public List<CategoryProgress> allCategoryProgress() {
-        return categoryRepository.findAll().stream()
-            .map(c -> categoryProgress(c.id()))
+        // Categories and their active towers come back together rather than one lookup per category
+        return dashboardQuery.categoryTowers().stream()
+            .map(row -> toProgress(row.category(), Optional.ofNullable(row.activeTower())))
             .collect(Collectors.toList());
     }
 
+    private static CategoryProgress toProgress(Category c, Optional<Tower> active) {
+        int completed = active.map(Tower::blocksCompleted).orElse(0);
+        int target = c.towerBlockTarget();
+        double ratio = target > 0 ? (double) completed / (double) target : 0.0;
+        return new CategoryProgress(c.id(), c.name(), completed, target, ratio);
+    }
+
     public static final class CategoryProgress {
         public final String categoryId;
         public final String categoryName;
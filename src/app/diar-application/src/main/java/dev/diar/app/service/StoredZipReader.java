@@ -0,0 +1,202 @@
+package dev.diar.app.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import static dev.diar.app.service.StoredZipWriter.*;
+
+/**
+ * Reads ZIP archives from their central directory over a FileChannel, the mirror of
+ * {@link StoredZipWriter}. STORED entries are extracted with FileChannel.transferTo and checked
+ * against their CRC through a direct buffer; DEFLATED entries, as written by other zip tools, are
+ * inflated through a stream instead.
+ */
+final class StoredZipReader implements AutoCloseable {
+    private static final int METHOD_STORED = 0;
+    private static final int METHOD_DEFLATED = 8;
+    private static final int END_SIZE = 22;
+    private static final int MAX_COMMENT = 0xFFFF;
+
+    record Entry(String name, int method, long crc, long compressedSize, long size, long localHeaderOffset) {}
+
+    private final FileChannel in;
+    private final List<Entry> entries;
+    private ByteBuffer crcBuffer;
+
+    StoredZipReader(Path file) throws IOException {
+        this.in = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            this.entries = readCentralDirectory();
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    List<Entry> entries() {
+        return entries;
+    }
+
+    /**
+     * Writes the entry's content to target, replacing any existing file.
+     */
+    void extract(Entry entry, Path target) throws IOException {
+        if (entry.method() != METHOD_STORED) {
+            try (InputStream data = open(entry)) {
+                Files.copy(data, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return;
+        }
+        long start = dataOffset(entry);
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ)) {
+            long done = 0;
+            while (done < entry.size()) {
+                long n = in.transferTo(start + done, entry.size() - done, out);
+                if (n <= 0) throw new IOException("Archive is truncated at " + entry.name());
+                done += n;
+            }
+            if (crcBuffer == null) crcBuffer = ByteBuffer.allocateDirect(CRC_BUFFER_SIZE);
+            if (crcOf(out, entry.size(), crcBuffer) != entry.crc()) {
+                throw new IOException("CRC mismatch in " + entry.name());
+            }
+        }
+    }
+
+    /**
+     * Streams the entry's content; for small entries such as the backup itself.
+     */
+    InputStream open(Entry entry) throws IOException {
+        InputStream raw = new RegionInputStream(dataOffset(entry), entry.compressedSize());
+        return switch (entry.method()) {
+            case METHOD_STORED -> raw;
+            case METHOD_DEFLATED -> new InflaterInputStream(raw, new Inflater(true), 64 * 1024);
+            default -> throw new IOException("Unsupported compression method " + entry.method() + " for " + entry.name());
+        };
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private long dataOffset(Entry entry) throws IOException {
+        ByteBuffer header = read(entry.localHeaderOffset(), LOCAL_HEADER_SIZE);
+        if (header.getInt(0) != LOCAL_HEADER_SIG) throw new IOException("Bad local header for " + entry.name());
+        int nameLength = Short.toUnsignedInt(header.getShort(26));
+        int extraLength = Short.toUnsignedInt(header.getShort(28));
+        return entry.localHeaderOffset() + LOCAL_HEADER_SIZE + nameLength + extraLength;
+    }
+
+    private List<Entry> readCentralDirectory() throws IOException {
+        long fileSize = in.size();
+        int tailLength = (int) Math.min(fileSize, END_SIZE + MAX_COMMENT);
+        long tailStart = fileSize - tailLength;
+        ByteBuffer tail = read(tailStart, tailLength);
+        int endPos = -1;
+        for (int i = tailLength - END_SIZE; i >= 0; i--) {
+            if (tail.getInt(i) == END_SIG) {
+                endPos = i;
+                break;
+            }
+        }
+        if (endPos < 0) throw new IOException("Not a ZIP archive");
+        long count = Short.toUnsignedInt(tail.getShort(endPos + 10));
+        long cdSize = Integer.toUnsignedLong(tail.getInt(endPos + 12));
+        long cdStart = Integer.toUnsignedLong(tail.getInt(endPos + 16));
+        long locatorPos = tailStart + endPos - 20;
+        if ((count == MAX_16 || cdSize == MAX_32 || cdStart == MAX_32) && locatorPos >= 0) {
+            ByteBuffer locator = read(locatorPos, 20);
+            if (locator.getInt(0) == ZIP64_LOCATOR_SIG) {
+                ByteBuffer end64 = read(locator.getLong(8), 56);
+                if (end64.getInt(0) != ZIP64_END_SIG) throw new IOException("Bad ZIP64 end record");
+                count = end64.getLong(32);
+                cdSize = end64.getLong(40);
+                cdStart = end64.getLong(48);
+            }
+        }
+        if (cdSize > Integer.MAX_VALUE) throw new IOException("Central directory too large");
+
+        ByteBuffer cd = read(cdStart, (int) cdSize);
+        List<Entry> result = new ArrayList<>((int) Math.min(count, 1 << 16));
+        int p = 0;
+        for (long i = 0; i < count; i++) {
+            if (cd.getInt(p) != CENTRAL_HEADER_SIG) throw new IOException("Bad central directory");
+            int method = Short.toUnsignedInt(cd.getShort(p + 10));
+            long crc = Integer.toUnsignedLong(cd.getInt(p + 16));
+            long compressedSize = Integer.toUnsignedLong(cd.getInt(p + 20));
+            long size = Integer.toUnsignedLong(cd.getInt(p + 24));
+            int nameLength = Short.toUnsignedInt(cd.getShort(p + 28));
+            int extraLength = Short.toUnsignedInt(cd.getShort(p + 30));
+            int commentLength = Short.toUnsignedInt(cd.getShort(p + 32));
+            long offset = Integer.toUnsignedLong(cd.getInt(p + 42));
+            byte[] name = new byte[nameLength];
+            cd.get(p + CENTRAL_HEADER_SIZE, name);
+
+            // ZIP64 values appear in the extra field, in this order, only for fields saturated above
+            int x = p + CENTRAL_HEADER_SIZE + nameLength;
+            int extraEnd = x + extraLength;
+            while (x + 4 <= extraEnd) {
+                int id = Short.toUnsignedInt(cd.getShort(x));
+                int length = Short.toUnsignedInt(cd.getShort(x + 2));
+                if (id == ZIP64_EXTRA_ID) {
+                    int v = x + 4;
+                    if (size == MAX_32) { size = cd.getLong(v); v += 8; }
+                    if (compressedSize == MAX_32) { compressedSize = cd.getLong(v); v += 8; }
+                    if (offset == MAX_32) { offset = cd.getLong(v); }
+                }
+                x += 4 + length;
+            }
+            result.add(new Entry(new String(name, StandardCharsets.UTF_8), method, crc, compressedSize, size, offset));
+            p = extraEnd + commentLength;
+        }
+        return result;
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer b = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (b.hasRemaining()) {
+            if (in.read(b, position + b.position()) < 0) throw new IOException("Archive is truncated");
+        }
+        return b.flip();
+    }
+
+    // Reads a byte range of the archive without moving the channel's position
+    private final class RegionInputStream extends InputStream {
+        private long position;
+        private final long end;
+
+        RegionInputStream(long start, long length) {
+            this.position = start;
+            this.end = start + length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) return 0;
+            if (position >= end) return -1;
+            int n = in.read(ByteBuffer.wrap(b, off, (int) Math.min(len, end - position)), position);
+            if (n < 0) throw new IOException("Archive is truncated");
+            position += n;
+            return n;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package dev.diar.app.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Writes a ZIP archive whose entries are all STORED (uncompressed), straight to a FileChannel.
+ *
+ * File entries are copied with FileChannel.transferTo, so the kernel moves the bytes and they never
+ * enter the Java heap; their CRC is computed beforehand through a direct buffer. Streamed entries get
+ * a placeholder header that is patched with the CRC and sizes once the entry is closed.
+ * Offsets past 4 GiB and more than 65535 entries are written as ZIP64.
+ */
+final class StoredZipWriter implements AutoCloseable {
+    static final int LOCAL_HEADER_SIG = 0x04034b50;
+    static final int CENTRAL_HEADER_SIG = 0x02014b50;
+    static final int END_SIG = 0x06054b50;
+    static final int ZIP64_END_SIG = 0x06064b50;
+    static final int ZIP64_LOCATOR_SIG = 0x07064b50;
+    static final int ZIP64_EXTRA_ID = 0x0001;
+    static final long MAX_32 = 0xFFFFFFFFL;
+    static final int MAX_16 = 0xFFFF;
+    static final int LOCAL_HEADER_SIZE = 30;
+    static final int CENTRAL_HEADER_SIZE = 46;
+    static final int CRC_BUFFER_SIZE = 1 << 20;
+
+    private static final int FLAG_UTF8 = 0x0800;
+    private static final int VERSION_STORED = 10;
+    private static final int VERSION_ZIP64 = 45;
+
+    private record Entry(byte[] name, long crc, long size, long offset, int dosTime, int dosDate) {}
+
+    private final FileChannel out;
+    private final List<Entry> entries = new ArrayList<>();
+    private ByteBuffer crcBuffer;
+    private boolean entryOpen;
+
+    StoredZipWriter(Path file) throws IOException {
+        this.out = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * Adds the file's bytes as one entry, copied channel to channel.
+     */
+    void addFile(String name, Path source, LocalDateTime modified) throws IOException {
+        ensureNoOpenEntry();
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+            long size = in.size();
+            if (crcBuffer == null) crcBuffer = ByteBuffer.allocateDirect(CRC_BUFFER_SIZE);
+            long crc = crcOf(in, size, crcBuffer);
+            long offset = out.position();
+            Entry entry = new Entry(name.getBytes(StandardCharsets.UTF_8), crc, size, offset,
+                dosTime(modified), dosDate(modified));
+            writeFully(localHeader(entry));
+            long done = 0;
+            while (done < size) {
+                long n = in.transferTo(done, size - done, out);
+                if (n <= 0) throw new IOException("File shrank while archiving: " + source);
+                done += n;
+            }
+            entries.add(entry);
+        }
+    }
+
+    /**
+     * Opens an entry whose content is written through the returned stream. Closing the stream
+     * completes the entry; streamed entries are limited to 4 GiB.
+     */
+    OutputStream openEntry(String name, LocalDateTime modified) throws IOException {
+        ensureNoOpenEntry();
+        long offset = out.position();
+        Entry placeholder = new Entry(name.getBytes(StandardCharsets.UTF_8), 0, 0, offset,
+            dosTime(modified), dosDate(modified));
+        writeFully(localHeader(placeholder));
+        long dataStart = out.position();
+        entryOpen = true;
+        return new OutputStream() {
+            private final CRC32 crc = new CRC32();
+            private boolean closed;
+
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[] {(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                crc.update(b, off, len);
+                writeFully(ByteBuffer.wrap(b, off, len));
+            }
+
+            @Override
+            public void close() throws IOException {
+                if (closed) return;
+                closed = true;
+                long end = out.position();
+                long size = end - dataStart;
+                if (size >= MAX_32) throw new IOException("Entry too large for a streamed ZIP entry: " + name);
+                ByteBuffer patch = ByteBuffer.allocate(12).order(ByteOrder.LITTLE_ENDIAN);
+                patch.putInt((int) crc.getValue()).putInt((int) size).putInt((int) size).flip();
+                // CRC and both sizes sit at offset 14 of the local header
+                long at = offset + 14;
+                while (patch.hasRemaining()) at += out.write(patch, at);
+                entries.add(new Entry(placeholder.name(), crc.getValue(), size, offset,
+                    placeholder.dosTime(), placeholder.dosDate()));
+                entryOpen = false;
+            }
+        };
+    }
+
+    /**
+     * Writes the central directory and closes the file.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            ensureNoOpenEntry();
+            long cdStart = out.position();
+            for (Entry e : entries) {
+                writeFully(centralHeader(e));
+            }
+            long cdEnd = out.position();
+            long cdSize = cdEnd - cdStart;
+            boolean zip64 = entries.size() >= MAX_16 || cdStart >= MAX_32 || cdSize >= MAX_32;
+            if (zip64) {
+                ByteBuffer z = buffer(56 + 20);
+                z.putInt(ZIP64_END_SIG).putLong(44).putShort((short) VERSION_ZIP64).putShort((short) VERSION_ZIP64)
+                    .putInt(0).putInt(0).putLong(entries.size()).putLong(entries.size())
+                    .putLong(cdSize).putLong(cdStart);
+                z.putInt(ZIP64_LOCATOR_SIG).putInt(0).putLong(cdEnd).putInt(1);
+                writeFully(z.flip());
+            }
+            ByteBuffer end = buffer(22);
+            int count = (int) Math.min(entries.size(), MAX_16);
+            end.putInt(END_SIG).putShort((short) 0).putShort((short) 0)
+                .putShort((short) count).putShort((short) count)
+                .putInt((int) Math.min(cdSize, MAX_32)).putInt((int) Math.min(cdStart, MAX_32))
+                .putShort((short) 0);
+            writeFully(end.flip());
+        } finally {
+            out.close();
+        }
+    }
+
+    private ByteBuffer localHeader(Entry e) {
+        boolean zip64 = e.size() >= MAX_32;
+        ByteBuffer b = buffer(LOCAL_HEADER_SIZE + e.name().length + (zip64 ? 20 : 0));
+        b.putInt(LOCAL_HEADER_SIG)
+            .putShort((short) (zip64 ? VERSION_ZIP64 : VERSION_STORED))
+            .putShort((short) FLAG_UTF8)
+            .putShort((short) 0) // STORED
+            .putShort((short) e.dosTime()).putShort((short) e.dosDate())
+            .putInt((int) e.crc())
+            .putInt((int) (zip64 ? MAX_32 : e.size()))
+            .putInt((int) (zip64 ? MAX_32 : e.size()))
+            .putShort((short) e.name().length)
+            .putShort((short) (zip64 ? 20 : 0))
+            .put(e.name());
+        if (zip64) {
+            b.putShort((short) ZIP64_EXTRA_ID).putShort((short) 16).putLong(e.size()).putLong(e.size());
+        }
+        return b.flip();
+    }
+
+    private ByteBuffer centralHeader(Entry e) {
+        boolean bigSize = e.size() >= MAX_32;
+        boolean bigOffset = e.offset() >= MAX_32;
+        int extra = (bigSize ? 16 : 0) + (bigOffset ? 8 : 0);
+        int extraLength = extra > 0 ? 4 + extra : 0;
+        int version = extra > 0 ? VERSION_ZIP64 : VERSION_STORED;
+        ByteBuffer b = buffer(CENTRAL_HEADER_SIZE + e.name().length + extraLength);
+        b.putInt(CENTRAL_HEADER_SIG)
+            .putShort((short) version).putShort((short) version)
+            .putShort((short) FLAG_UTF8)
+            .putShort((short) 0) // STORED
+            .putShort((short) e.dosTime()).putShort((short) e.dosDate())
+            .putInt((int) e.crc())
+            .putInt((int) (bigSize ? MAX_32 : e.size()))
+            .putInt((int) (bigSize ? MAX_32 : e.size()))
+            .putShort((short) e.name().length)
+            .putShort((short) extraLength)
+            .putShort((short) 0) // comment
+            .putShort((short) 0) // disk
+            .putShort((short) 0) // internal attributes
+            .putInt(0) // external attributes
+            .putInt((int) (bigOffset ? MAX_32 : e.offset()))
+            .put(e.name());
+        if (extra > 0) {
+            b.putShort((short) ZIP64_EXTRA_ID).putShort((short) extra);
+            if (bigSize) b.putLong(e.size()).putLong(e.size());
+            if (bigOffset) b.putLong(e.offset());
+        }
+        return b.flip();
+    }
+
+    // Reads the first size bytes through a direct buffer, so the data stays outside the heap
+    static long crcOf(FileChannel channel, long size, ByteBuffer buffer) throws IOException {
+        CRC32 crc = new CRC32();
+        long position = 0;
+        while (position < size) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), size - position));
+            int n = channel.read(buffer, position);
+            if (n < 0) break;
+            buffer.flip();
+            crc.update(buffer);
+            position += n;
+        }
+        return crc.getValue();
+    }
+
+    private void writeFully(ByteBuffer b) throws IOException {
+        while (b.hasRemaining()) out.write(b);
+    }
+
+    private void ensureNoOpenEntry() throws IOException {
+        if (entryOpen) throw new IOException("Previous ZIP entry is still open");
+    }
+
+    private static ByteBuffer buffer(int size) {
+        return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static int dosTime(LocalDateTime t) {
+        return (t.getHour() << 11) | (t.getMinute() << 5) | (t.getSecond() / 2);
+    }
+
+    private static int dosDate(LocalDateTime t) {
+        int year = Math.max(1980, Math.min(2107, t.getYear()));
+        return ((year - 1980) << 9) | (t.getMonthValue() << 5) | t.getDayOfMonth();
+    }
+}
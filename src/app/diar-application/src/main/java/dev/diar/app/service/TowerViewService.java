@@ -10,7 +10,6 @@ import dev.diar.core.model.Tower;
 
 import java.time.ZonedDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class TowerViewService {
     private final CategoryRepository categoryRepository;
@@ -26,7 +25,7 @@ public class TowerViewService {
     }
 
     public Optional<Category> getCategory(String categoryId) {
-        return categoryRepository.findAll().stream().filter(c -> c.id().equals(categoryId)).findFirst();
+        return categoryRepository.findById(categoryId);
     }
 
     public List<Tower> towersForCategory(String categoryId) {
@@ -42,11 +41,15 @@ public class TowerViewService {
     }
 
     public List<LogEntry> logsForTower(String categoryId, Tower targetTower) {
-        // Fetch logs for category in a wide range and order ascending
-        ZonedDateTime now = clock.now();
-        List<LogEntry> logs = logRepository.findByCategory(categoryId, now.minusYears(100), now.plusYears(1))
-            .stream().sorted(Comparator.comparing(LogEntry::createdAt)).collect(Collectors.toList());
+        List<LogEntry> linked = logRepository.findByTower(targetTower.id());
+        if (!linked.isEmpty() || targetTower.blocksCompleted() <= 0) {
+            return linked;
+        }
+        // Blocks imported from older exports carry no tower link; rebuild the slice from counts
+        return reconstructTowerSlice(categoryId, targetTower);
+    }
 
+    private List<LogEntry> reconstructTowerSlice(String categoryId, Tower targetTower) {
         // Order towers by completion time asc, active last
         List<Tower> towersAsc = new ArrayList<>(towerRepository.findByCategory(categoryId));
         towersAsc.sort((a,b) -> {
@@ -56,18 +59,32 @@ public class TowerViewService {
             return a.completedOn().compareTo(b.completedOn());
         });
 
-        // Slice logs assignment by blocksCompleted per tower
+        // Work out the target tower's slice of the ascending log sequence by blocksCompleted per tower
+        int start = -1;
+        int end = -1;
         int cursor = 0;
         for (Tower t : towersAsc) {
             int count = Math.max(0, t.blocksCompleted());
-            int end = Math.min(cursor + count, logs.size());
-            List<LogEntry> slice = logs.subList(cursor, end);
             if (t.id().equals(targetTower.id())) {
-                return new ArrayList<>(slice);
+                start = cursor;
+                end = cursor + count;
+                break;
             }
-            cursor = end;
+            cursor += count;
         }
-        return List.of();
+        if (start < 0) return List.of();
+        final int from = start;
+        final int to = end;
+
+        // Stream logs oldest first and keep only the slice
+        ZonedDateTime now = clock.now();
+        List<LogEntry> slice = new ArrayList<>();
+        int[] index = {0};
+        logRepository.forEachByCategory(categoryId, now.minusYears(100), now.plusYears(1), le -> {
+            int i = index[0]++;
+            if (i >= from && i < to) slice.add(le);
+        });
+        return slice;
     }
 
     public int stageForTower(Tower tower) {
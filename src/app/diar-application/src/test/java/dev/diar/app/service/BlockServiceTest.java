@@ -60,5 +60,30 @@ public class BlockServiceTest {
         Tower active = ts.stream().filter(t -> !t.isCompleted()).findFirst().orElse(null);
         assertNotNull(active);
         assertEquals(0, active.blocksCompleted());
+        assertEquals(active.id(), svc.getActiveTower("c1").orElseThrow().id());
+    }
+
+    @Test
+    void addBlockCommitsOnceWithAllWritesInside() {
+        var categories = new InMemoryCategoryRepository();
+        var logs = new InMemoryLogRepository();
+        var clock = new FakeClock(ZonedDateTime.parse("2025-01-01T10:00:00Z"));
+        var tx = new FakeTransactionRunner();
+        var towers = new InMemoryTowerRepository() {
+            @Override
+            public void save(Tower tower) {
+                assertTrue(tx.isActive(), "tower written outside the transaction");
+                super.save(tower);
+            }
+        };
+
+        categories.save(new Category("c1", "Exercise", 2));
+        var svc = new BlockService(categories, logs, towers, clock, tx);
+
+        svc.addBlock("c1", null);
+        svc.addBlock("c1", null);
+
+        assertEquals(2, tx.committed());
+        assertEquals(2, towers.findByCategory("c1").size());
     }
 }
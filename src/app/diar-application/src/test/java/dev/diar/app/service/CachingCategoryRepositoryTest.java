@@ -0,0 +1,47 @@
+package dev.diar.app.service;
+
+import dev.diar.app.service.fakes.InMemoryCategoryRepository;
+import dev.diar.core.model.Category;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CachingCategoryRepositoryTest {
+
+    @Test
+    void servesLookupsFromMemoryAndTracksRenamesAndDeletes() {
+        int[] reads = {0};
+        var backing = new InMemoryCategoryRepository() {
+            @Override
+            public Optional<Category> findById(String id) {
+                reads[0]++;
+                return super.findById(id);
+            }
+
+            @Override
+            public List<Category> findAll() {
+                reads[0]++;
+                return super.findAll();
+            }
+        };
+        backing.save(new Category("c1", "Yoga", 3));
+
+        var cached = new CachingCategoryRepository(backing);
+        assertEquals("Yoga", cached.findById("c1").orElseThrow().name());
+        assertEquals("c1", cached.findByName("  yOGA ").orElseThrow().id());
+        assertTrue(cached.findById("missing").isEmpty());
+        assertEquals(1, reads[0]);
+
+        cached.save(new Category("c1", "Stretching", 3));
+        assertTrue(cached.findByName("yoga").isEmpty());
+        assertEquals("c1", cached.findByName("stretching").orElseThrow().id());
+
+        cached.delete("c1");
+        assertTrue(cached.findById("c1").isEmpty());
+        assertTrue(cached.findByName("stretching").isEmpty());
+        assertTrue(backing.findById("c1").isEmpty());
+    }
+}
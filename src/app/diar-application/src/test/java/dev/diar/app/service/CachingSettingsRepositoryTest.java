@@ -0,0 +1,76 @@
+package dev.diar.app.service;
+
+import dev.diar.app.service.fakes.InMemorySettingsRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CachingSettingsRepositoryTest {
+
+    @Test
+    void loadsOnceAndWritesThrough() {
+        int[] reads = {0};
+        var backing = new InMemorySettingsRepository() {
+            @Override
+            public Optional<String> get(String key) {
+                reads[0]++;
+                return super.get(key);
+            }
+
+            @Override
+            public Map<String, String> getAll() {
+                reads[0]++;
+                return super.getAll();
+            }
+        };
+        backing.put("energy.level", "7");
+
+        var cached = new CachingSettingsRepository(backing);
+        assertEquals(Optional.of("7"), cached.get("energy.level"));
+        assertEquals(Optional.empty(), cached.get("missing"));
+        assertEquals(Optional.of("7"), cached.get("energy.level"));
+        assertEquals(1, reads[0]);
+
+        cached.put("energy.level", "3");
+        assertEquals(Optional.of("3"), cached.get("energy.level"));
+        assertEquals(Optional.of("3"), backing.get("energy.level"));
+    }
+
+    @Test
+    void writeBehindCoalescesPutsIntoOneWrite() {
+        List<Map<String, String>> writes = new ArrayList<>();
+        var backing = new InMemorySettingsRepository() {
+            @Override
+            public void putAll(Map<String, String> values) {
+                writes.add(new HashMap<>(values));
+                super.putAll(values);
+            }
+        };
+
+        // Window long enough that only explicit flush/close writes during the test
+        var cached = new CachingSettingsRepository(backing, Duration.ofHours(1));
+        for (int level = 0; level <= 50; level++) {
+            cached.put("energy.level", Integer.toString(level));
+        }
+        cached.putAll(Map.of("energy.exhausted", "true", "energy.date", "2025-01-10"));
+
+        assertEquals(Optional.of("50"), cached.get("energy.level"));
+        assertEquals(Optional.empty(), backing.get("energy.level"));
+
+        cached.flush();
+        assertEquals(1, writes.size());
+        assertEquals(Map.of("energy.level", "50", "energy.exhausted", "true", "energy.date", "2025-01-10"), writes.get(0));
+
+        cached.put("energy.level", "60");
+        cached.close();
+        assertEquals(2, writes.size());
+        assertEquals(Optional.of("60"), backing.get("energy.level"));
+    }
+}
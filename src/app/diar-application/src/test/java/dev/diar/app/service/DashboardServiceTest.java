@@ -0,0 +1,34 @@
+package dev.diar.app.service;
+
+import dev.diar.app.port.DashboardQueryPort;
+import dev.diar.app.service.fakes.*;
+import dev.diar.core.model.Category;
+import dev.diar.core.model.Tower;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DashboardServiceTest {
+
+    @Test
+    void snapshotCarriesActiveTowerProgressPerCategory() {
+        var categories = new InMemoryCategoryRepository();
+        var towers = new InMemoryTowerRepository();
+        categories.save(new Category("c1", "Yoga", 4));
+        categories.save(new Category("c2", "Reading", 2));
+        towers.save(new Tower("t1", "c1", 4, 4, LocalDate.parse("2025-01-01")));
+        towers.save(new Tower("t2", "c1", 4, 3, null));
+
+        var svc = new DashboardService(DashboardQueryPort.from(categories, towers));
+        DashboardSnapshot snapshot = svc.snapshot();
+
+        assertEquals(2, snapshot.categories().size());
+        var yoga = snapshot.categories().stream().filter(s -> s.category().id().equals("c1")).findFirst().orElseThrow();
+        assertEquals(3, yoga.activeBlocks());
+        assertEquals(0.75, yoga.progressRatio(), 1e-9);
+        var reading = snapshot.categories().stream().filter(s -> s.category().id().equals("c2")).findFirst().orElseThrow();
+        assertEquals(0, reading.activeBlocks());
+    }
+}
@@ -1,14 +1,29 @@
 package dev.diar.app.service;
 
+import dev.diar.app.port.ChangeFeedPort;
 import dev.diar.app.service.fakes.*;
 import dev.diar.core.model.Category;
 import dev.diar.core.model.LogEntry;
+import dev.diar.core.model.Recording;
 import dev.diar.core.model.Tower;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.LocalDate;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -36,6 +51,7 @@ public class ExportImportServiceTest {
         // export
         svc.exportAll(tmp);
         assertTrue(Files.size(tmp) > 0);
+        assertFalse(Files.readString(tmp).contains("\n"), "export should be compact by default");
 
         // import into fresh in-memory repos (to simulate new DB)
         var categories2 = new InMemoryCategoryRepository();
@@ -74,4 +90,292 @@ public class ExportImportServiceTest {
         svc.importAll(tmp, false);
         Files.deleteIfExists(tmp);
     }
+
+    @Test
+    void importWritesLogsInBatchesAndKeepsTowerLinks() throws Exception {
+        var categories = new InMemoryCategoryRepository();
+        var logs = new InMemoryLogRepository();
+        var towers = new InMemoryTowerRepository();
+        var clock = new FakeClock(ZonedDateTime.parse("2025-01-10T12:00:00Z"));
+
+        categories.save(new Category("c1", "Reading", 5000));
+        towers.save(new Tower("t1", "c1", 5000, 2500, null));
+        for (int i = 0; i < 2500; i++) {
+            logs.save(new LogEntry("l" + i, "c1", "t1", "page " + i, clock.now().minusMinutes(i)));
+        }
+        var svc = new ExportImportService(categories, logs, towers, new InMemoryRecordingRepository(), new InMemorySettingsRepository(), clock);
+        Path tmp = Files.createTempFile("diar-export-", ".json");
+        svc.exportAll(tmp);
+
+        List<Integer> batchSizes = new ArrayList<>();
+        var logs2 = new InMemoryLogRepository() {
+            @Override
+            public void saveAll(Collection<LogEntry> entries) {
+                batchSizes.add(entries.size());
+                super.saveAll(entries);
+            }
+        };
+        var towers2 = new InMemoryTowerRepository();
+        var categories2 = new InMemoryCategoryRepository();
+        var svc2 = new ExportImportService(categories2, logs2, towers2, new InMemoryRecordingRepository(), new InMemorySettingsRepository(), clock);
+        svc2.importAll(tmp, true);
+
+        assertEquals(List.of(1000, 1000, 500), batchSizes);
+        String newTowerId = towers2.findByCategory(categories2.findAll().get(0).id()).get(0).id();
+        assertEquals(2500, logs2.findByTower(newTowerId).size());
+
+        Files.deleteIfExists(tmp);
+    }
+
+    @Test
+    void binaryRoundTripKeepsEveryField() throws Exception {
+        var categories = new InMemoryCategoryRepository();
+        var logs = new InMemoryLogRepository();
+        var towers = new InMemoryTowerRepository();
+        var recordings = new InMemoryRecordingRepository();
+        var settings = new InMemorySettingsRepository();
+        var clock = new FakeClock(ZonedDateTime.parse("2025-01-10T12:00:00.123456789+02:00"));
+
+        String catId = UUID.randomUUID().toString();
+        categories.save(new Category(catId, "Reading", 5));
+        categories.save(new Category("c2", "Écriture ✍", 3));
+        towers.save(new Tower("t1", catId, 5, 5, LocalDate.of(2025, 1, 9)));
+        towers.save(new Tower("t2", catId, 5, 1, null));
+        logs.save(new LogEntry("l1", catId, "t1", "read 10 pages", clock.now().minusDays(1)));
+        logs.save(new LogEntry("l2", catId, "t2", null, clock.now()));
+        logs.save(new LogEntry("l3", "c2", null, "no tower", clock.now().minusHours(3)));
+        recordings.save(new Recording("r1", "/tmp/r1.wav", clock.now(), null));
+        recordings.save(new Recording("r2", "/tmp/r2.wav", clock.now(), 42));
+        settings.put("energy.level", "80");
+
+        var svc = new ExportImportService(categories, logs, towers, recordings, settings, clock);
+        Path tmp = Files.createTempFile("diar-export-", ".diarbak");
+        svc.exportAll(tmp, ExportImportService.Format.BINARY);
+
+        var categories2 = new InMemoryCategoryRepository();
+        var logs2 = new InMemoryLogRepository();
+        var towers2 = new InMemoryTowerRepository();
+        var recordings2 = new InMemoryRecordingRepository();
+        var settings2 = new InMemorySettingsRepository();
+        var svc2 = new ExportImportService(categories2, logs2, towers2, recordings2, settings2, clock);
+        svc2.importAll(tmp, false);
+
+        assertEquals("Écriture ✍", categories2.findById("c2").orElseThrow().name());
+        assertEquals(5, categories2.findById(catId).orElseThrow().towerBlockTarget());
+        assertEquals(LocalDate.of(2025, 1, 9), towers2.findByCategory(catId).get(0).completedOn());
+        assertNull(towers2.findByCategory(catId).get(1).completedOn());
+        LogEntry l1 = logs2.findByTower("t1").get(0);
+        assertEquals("read 10 pages", l1.note());
+        assertEquals(clock.now().minusDays(1), l1.createdAt());
+        assertNull(logs2.findByTower("t2").get(0).note());
+        LogEntry l3 = logs2.findByCategory("c2", clock.now().minusDays(1), clock.now().plusDays(1)).get(0);
+        assertNull(l3.towerId());
+        assertNull(recordings2.findById("r1").orElseThrow().durationSeconds());
+        assertEquals(42, recordings2.findById("r2").orElseThrow().durationSeconds());
+        assertEquals("80", settings2.get("energy.level").orElseThrow());
+
+        Files.deleteIfExists(tmp);
+    }
+
+    @Test
+    void binaryImportRejectsTruncatedFile() throws Exception {
+        var clock = new FakeClock(ZonedDateTime.parse("2025-01-10T12:00:00Z"));
+        var logs = new InMemoryLogRepository();
+        var categories = new InMemoryCategoryRepository();
+        categories.save(new Category("c1", "Reading", 5));
+        logs.save(new LogEntry("l1", "c1", "read", clock.now()));
+        var svc = new ExportImportService(categories, logs, new InMemoryTowerRepository(), new InMemoryRecordingRepository(), new InMemorySettingsRepository(), clock);
+        Path tmp = Files.createTempFile("diar-export-", ".diarbak");
+        svc.exportAll(tmp, ExportImportService.Format.BINARY);
+
+        // Recompress the content without its END tag
+        byte[] content;
+        try (var in = new GZIPInputStream(Files.newInputStream(tmp))) {
+            content = in.readAllBytes();
+        }
+        try (var out = new GZIPOutputStream(Files.newOutputStream(tmp))) {
+            out.write(content, 0, content.length - 1);
+        }
+
+        var svc2 = new ExportImportService(new InMemoryCategoryRepository(), new InMemoryLogRepository(), new InMemoryTowerRepository(), new InMemoryRecordingRepository(), new InMemorySettingsRepository(), clock);
+        assertThrows(RuntimeException.class, () -> svc2.importAll(tmp, false));
+
+        Files.deleteIfExists(tmp);
+    }
+
+    @Test
+    void binaryImportRejectsAnImpossibleRecordLength() throws Exception {
+        var clock = new FakeClock(ZonedDateTime.parse("2025-01-10T12:00:00Z"));
+        Path tmp = Files.createTempFile("diar-export-", ".diarbak");
+        // Header, then a category record claiming almost 2 GiB
+        try (var out = new GZIPOutputStream(Files.newOutputStream(tmp))) {
+            out.write(new byte[] {'D', 'I', 'A', 'R', 1, 1, (byte) 0xF0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07});
+        }
+
+        var svc = new ExportImportService(new InMemoryCategoryRepository(), new InMemoryLogRepository(), new InMemoryTowerRepository(), new InMemoryRecordingRepository(), new InMemorySettingsRepository(), clock);
+        var e = assertThrows(RuntimeException.class, () -> svc.importAll(tmp, false));
+        assertInstanceOf(IOException.class, e.getCause());
+
+        Files.deleteIfExists(tmp);
+    }
+
+    @Test
+    void changesExportHoldsOnlyNewLogsAndChainRestoresEverything() throws Exception {
+        var categories = new InMemoryCategoryRepository();
+        var logs = new InMemoryLogRepository();
+        var towers = new InMemoryTowerRepository();
+        var settings = new InMemorySettingsRepository();
+        var clock = new FakeClock(ZonedDateTime.parse("2025-01-10T12:00:00Z"));
+        categories.save(new Category("c1", "Reading", 5));
+        towers.save(new Tower("t1", "c1", 5, 2, null));
+        logs.save(new LogEntry("l1", "c1", "t1", "one", clock.now().minusDays(2)));
+        logs.save(new LogEntry("l2", "c1", "t1", "two", clock.now().minusDays(1)));
+        var svc = new ExportImportService(categories, logs, towers, new InMemoryRecordingRepository(), settings, clock);
+
+        Path base = Files.createTempFile("diar-export-", ".json");
+        Path delta1 = Files.createTempFile("diar-delta-", ".json");
+        Path delta2 = Files.createTempFile("diar-delta-", ".diarbak");
+        Path oneOff = Files.createTempFile("diar-export-", ".json");
+        svc.exportBase(base, ExportImportService.Format.JSON);
+
+        logs.save(new LogEntry("l3", "c1", "t1", "three", clock.now()));
+        towers.save(new Tower("t1", "c1", 5, 3, null));
+        // A one-off full copy must not move the chain forward
+        svc.exportAll(oneOff);
+        svc.exportChanges(delta1, ExportImportService.Format.JSON);
+        String json = Files.readString(delta1);
+        assertTrue(json.contains("\"l3\""));
+        assertFalse(json.contains("\"l1\"") || json.contains("\"l2\""), "delta should skip logs already exported");
+
+        logs.save(new LogEntry("l4", "c1", "t1", "four", clock.now()));
+        svc.exportChanges(delta2, ExportImportService.Format.BINARY);
+
+        var categories2 = new InMemoryCategoryRepository();
+        var logs2 = new InMemoryLogRepository();
+        var towers2 = new InMemoryTowerRepository();
+        var svc2 = new ExportImportService(categories2, logs2, towers2, new InMemoryRecordingRepository(), new InMemorySettingsRepository(), clock);
+        svc2.importChain(base, List.of(delta1, delta2));
+
+        assertEquals(4, logs2.findByTower("t1").size());
+        assertEquals(3, towers2.findByCategory("c1").get(0).blocksCompleted());
+
+        // Nothing new since the last delta
+        Path empty = Files.createTempFile("diar-delta-", ".json");
+        svc.exportChanges(empty, ExportImportService.Format.JSON);
+        assertFalse(Files.readString(empty).contains("\"logs\""));
+
+        for (Path p : List.of(base, delta1, delta2, oneOff, empty)) Files.deleteIfExists(p);
+    }
+
+    @Test
+    void chainReplaysADeletionBeforeTheEntityRecreatedUnderItsName() throws Exception {
+        var categories = new InMemoryCategoryRepository();
+        var towers = new InMemoryTowerRepository();
+        var recordings = new InMemoryRecordingRepository();
+        var feed = new InMemoryChangeFeed(categories, towers, recordings);
+        var clock = new FakeClock(ZonedDateTime.parse("2025-01-10T12:00:00Z"));
+        categories.save(new Category("old", "Reading", 5));
+        feed.changed(ChangeFeedPort.Entity.CATEGORY, "old");
+        var svc = new ExportImportService(categories, new InMemoryLogRepository(), towers, recordings, new InMemorySettingsRepository(), clock, feed);
+
+        Path base = Files.createTempFile("diar-export-", ".json");
+        Path delta = Files.createTempFile("diar-delta-", ".json");
+        svc.exportBase(base, ExportImportService.Format.JSON);
+
+        categories.delete("old");
+        feed.deleted(ChangeFeedPort.Entity.CATEGORY, "old");
+        categories.save(new Category("new", "Reading", 7));
+        feed.changed(ChangeFeedPort.Entity.CATEGORY, "new");
+        svc.exportChanges(delta, ExportImportService.Format.JSON);
+
+        var categories2 = new InMemoryCategoryRepository();
+        var svc2 = new ExportImportService(categories2, new InMemoryLogRepository(), new InMemoryTowerRepository(), new InMemoryRecordingRepository(), new InMemorySettingsRepository(), clock);
+        svc2.importChain(base, List.of(delta));
+
+        assertEquals(1, categories2.findAll().size());
+        Category restored = categories2.findById("new").orElseThrow();
+        assertEquals("Reading", restored.name());
+        assertEquals(7, restored.towerBlockTarget());
+
+        for (Path p : List.of(base, delta)) Files.deleteIfExists(p);
+    }
+
+    @Test
+    void archiveCarriesAudioAndImportPointsRecordingsAtTheCopies() throws Exception {
+        var categories = new InMemoryCategoryRepository();
+        var recordings = new InMemoryRecordingRepository();
+        var clock = new FakeClock(ZonedDateTime.parse("2025-01-10T12:00:00Z"));
+        categories.save(new Category("c1", "Reading", 5));
+        Path audioDir = Files.createTempDirectory("diar-audio-");
+        byte[] first = new byte[200_000];
+        new Random(1).nextBytes(first);
+        Path a = Files.write(audioDir.resolve("a.wav"), first);
+        Path b = Files.write(Files.createDirectories(audioDir.resolve("other")).resolve("a.wav"), new byte[] {1, 2, 3});
+        recordings.save(new Recording("r1", a.toString(), clock.now(), 12));
+        recordings.save(new Recording("r2", b.toString(), clock.now(), 1));
+        recordings.save(new Recording("r3", audioDir.resolve("missing.wav").toString(), clock.now(), 3));
+        var svc = new ExportImportService(categories, new InMemoryLogRepository(), new InMemoryTowerRepository(), recordings, new InMemorySettingsRepository(), clock);
+
+        Path zip = Files.createTempFile("diar-archive-", ".zip");
+        svc.exportArchive(zip, ExportImportService.Format.BINARY);
+
+        // Readable by the JDK's own zip support, with the audio stored uncompressed
+        try (var jdkZip = new ZipFile(zip.toFile())) {
+            var entry = jdkZip.getEntry("recordings/a.wav");
+            assertEquals(ZipEntry.STORED, entry.getMethod());
+            assertArrayEquals(first, jdkZip.getInputStream(entry).readAllBytes());
+            assertNotNull(jdkZip.getEntry("recordings/r2-a.wav"));
+        }
+
+        Path target = Files.createTempDirectory("diar-restore-");
+        Files.write(target.resolve("a.wav"), new byte[] {9});
+        var recordings2 = new InMemoryRecordingRepository();
+        var svc2 = new ExportImportService(new InMemoryCategoryRepository(), new InMemoryLogRepository(), new InMemoryTowerRepository(), recordings2, new InMemorySettingsRepository(), clock);
+        svc2.importArchive(zip, target, false);
+
+        Path restored = Path.of(recordings2.findById("r1").orElseThrow().filePath());
+        assertEquals(target.resolve("a-1.wav"), restored, "existing files are never overwritten");
+        assertArrayEquals(first, Files.readAllBytes(restored));
+        assertArrayEquals(new byte[] {1, 2, 3}, Files.readAllBytes(Path.of(recordings2.findById("r2").orElseThrow().filePath())));
+        assertEquals(audioDir.resolve("missing.wav").toString(), recordings2.findById("r3").orElseThrow().filePath());
+        assertArrayEquals(new byte[] {9}, Files.readAllBytes(target.resolve("a.wav")));
+
+        deleteTree(audioDir);
+        deleteTree(target);
+        Files.deleteIfExists(zip);
+    }
+
+    @Test
+    void failedArchiveImportLeavesNoAudioBehind() throws Exception {
+        var clock = new FakeClock(ZonedDateTime.parse("2025-01-10T12:00:00Z"));
+        var svc = new ExportImportService(new InMemoryCategoryRepository(), new InMemoryLogRepository(), new InMemoryTowerRepository(), new InMemoryRecordingRepository(), new InMemorySettingsRepository(), clock);
+        Path audio = Files.write(Files.createTempFile("diar-audio-", ".wav"), new byte[] {1, 2, 3});
+        Path noBackup = Files.createTempFile("diar-archive-", ".zip");
+        Path badBackup = Files.createTempFile("diar-archive-", ".zip");
+        try (var zip = new StoredZipWriter(noBackup)) {
+            zip.addFile("recordings/a.wav", audio, clock.now().toLocalDateTime());
+        }
+        try (var zip = new StoredZipWriter(badBackup)) {
+            zip.addFile("recordings/a.wav", audio, clock.now().toLocalDateTime());
+            try (var out = zip.openEntry("backup.json", clock.now().toLocalDateTime())) {
+                out.write("{\"categories\": [{\"id\": ".getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        Path target = Files.createTempDirectory("diar-restore-");
+
+        assertThrows(RuntimeException.class, () -> svc.importArchive(noBackup, target, false));
+        assertThrows(RuntimeException.class, () -> svc.importArchive(badBackup, target, false));
+        try (var files = Files.list(target)) {
+            assertEquals(0, files.count());
+        }
+
+        deleteTree(target);
+        for (Path p : List.of(audio, noBackup, badBackup)) Files.deleteIfExists(p);
+    }
+
+    private static void deleteTree(Path dir) throws IOException {
+        try (var paths = Files.walk(dir)) {
+            for (Path p : paths.sorted(Comparator.reverseOrder()).toList()) Files.delete(p);
+        }
+    }
 }
@@ -1,7 +1,6 @@
 package dev.diar.app.service;
 
 import dev.diar.app.service.fakes.*;
-import dev.diar.core.model.Category;
 import dev.diar.core.model.LogEntry;
 import org.junit.jupiter.api.Test;
 
@@ -14,39 +13,32 @@ public class LogQueryServiceTest {
 
     @Test
     void recentLogsAcrossCategoriesSortedDesc() {
-        var categories = new InMemoryCategoryRepository();
         var logs = new InMemoryLogRepository();
         var clock = new FakeClock(ZonedDateTime.parse("2025-01-10T12:00:00Z"));
 
-        var c1 = new Category("c1", "A", 5);
-        var c2 = new Category("c2", "B", 5);
-        categories.save(c1);
-        categories.save(c2);
-
         logs.save(new LogEntry("l1", "c1", null, clock.now().minusDays(1)));
         logs.save(new LogEntry("l2", "c2", null, clock.now().minusDays(2)));
         logs.save(new LogEntry("l3", "c1", null, clock.now().minusHours(1)));
 
-        var svc = new LogQueryService(logs, categories, clock);
+        var svc = new LogQueryService(logs, clock);
         List<LogEntry> recent = svc.recentLogs(3);
         assertEquals(3, recent.size());
         assertEquals("l3", recent.get(0).id());
+
+        List<LogEntry> top2 = svc.recentLogs(3, 2);
+        assertEquals(List.of("l3", "l1"), top2.stream().map(LogEntry::id).toList());
     }
 
     @Test
     void logsByCategoryRangeAndSearchNotes() {
-        var categories = new InMemoryCategoryRepository();
         var logs = new InMemoryLogRepository();
         var clock = new FakeClock(ZonedDateTime.parse("2025-01-10T12:00:00Z"));
 
-        var c1 = new Category("c1", "A", 5);
-        categories.save(c1);
-
         logs.save(new LogEntry("l1", "c1", "Did pushups", clock.now().minusDays(1)));
         logs.save(new LogEntry("l2", "c1", "Read a book", clock.now().minusDays(2)));
         logs.save(new LogEntry("l3", "c1", "coding kata", clock.now().minusHours(1)));
 
-        var svc = new LogQueryService(logs, categories, clock);
+        var svc = new LogQueryService(logs, clock);
         var from = clock.now().minusDays(3);
         var to = clock.now().plusHours(1);
         List<LogEntry> byCat = svc.logsByCategory("c1", from, to);
@@ -55,5 +47,54 @@ public class LogQueryServiceTest {
         List<LogEntry> search = svc.searchNotes("CoDiNg", 3);
         assertEquals(1, search.size());
         assertEquals("l3", search.get(0).id());
+
+        // Prefix of each word, all words required
+        assertEquals(1, svc.searchNotes("pUsH did", 3).size());
+        assertEquals(0, svc.searchNotes("push book", 3).size());
+        assertEquals(0, svc.searchNotes("  ", 3).size());
+    }
+
+    @Test
+    void countByCategoryCountsOnlyRange() {
+        var logs = new InMemoryLogRepository();
+        var clock = new FakeClock(ZonedDateTime.parse("2025-01-10T12:00:00Z"));
+
+        logs.save(new LogEntry("l1", "c1", null, clock.now().minusDays(1)));
+        logs.save(new LogEntry("l2", "c1", null, clock.now().minusDays(5)));
+        logs.save(new LogEntry("l3", "c2", null, clock.now().minusHours(1)));
+
+        var svc = new LogQueryService(logs, clock);
+        assertEquals(1, svc.countByCategory("c1", clock.now().minusDays(2), clock.now()));
+        assertEquals(2, svc.countByCategory("c1", clock.now().minusDays(10), clock.now()));
+    }
+
+    @Test
+    void pageLogsWalksAllEntriesWithContinuationTokens() {
+        var logs = new InMemoryLogRepository();
+        var clock = new FakeClock(ZonedDateTime.parse("2025-01-10T12:00:00Z"));
+
+        // l4 and l5 share a timestamp; the id breaks the tie
+        logs.save(new LogEntry("l1", "c1", null, clock.now().minusDays(3)));
+        logs.save(new LogEntry("l2", "c2", null, clock.now().minusDays(2)));
+        logs.save(new LogEntry("l3", "c1", null, clock.now().minusDays(1)));
+        logs.save(new LogEntry("l4", "c1", null, clock.now().minusHours(1)));
+        logs.save(new LogEntry("l5", "c2", null, clock.now().minusHours(1)));
+
+        var svc = new LogQueryService(logs, clock);
+        var first = svc.pageLogs(null, 2, null);
+        assertEquals(List.of("l5", "l4"), first.entries().stream().map(LogEntry::id).toList());
+        assertTrue(first.hasMore());
+
+        var second = svc.pageLogs(null, 2, first.nextToken());
+        assertEquals(List.of("l3", "l2"), second.entries().stream().map(LogEntry::id).toList());
+
+        var third = svc.pageLogs(null, 2, second.nextToken());
+        assertEquals(List.of("l1"), third.entries().stream().map(LogEntry::id).toList());
+        assertFalse(third.hasMore());
+
+        var c1Only = svc.pageLogs("c1", 10, null);
+        assertEquals(List.of("l4", "l3", "l1"), c1Only.entries().stream().map(LogEntry::id).toList());
+
+        assertThrows(IllegalArgumentException.class, () -> svc.pageLogs(null, 2, "not-a-token"));
     }
 }
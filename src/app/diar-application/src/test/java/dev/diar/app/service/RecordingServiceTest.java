@@ -4,6 +4,7 @@ import dev.diar.app.service.fakes.*;
 import dev.diar.core.model.Recording;
 import org.junit.jupiter.api.Test;
 
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.ZonedDateTime;
 
@@ -23,14 +24,114 @@ public class RecordingServiceTest {
         String id = svc.startRecording(null); // meter not needed in test
         assertNotNull(id);
         assertTrue(svc.isRecording());
+        assertEquals(id, repo.findInProgress().get(0).id(), "in-progress row until stopped");
+        assertTrue(svc.getAllRecordings().isEmpty(), "a take in progress is not listed");
 
+        clock.setNow(clock.now().plusMinutes(5));
         Recording rec = svc.stopRecording(id);
         assertNotNull(rec);
         assertEquals(id, rec.id());
+        assertEquals(ZonedDateTime.parse("2025-01-01T10:00:00Z"), rec.createdAt(), "dated by the start, as a recovered take is");
+        assertTrue(repo.findInProgress().isEmpty());
         assertNotNull(rec.durationSeconds());
         assertTrue(rec.durationSeconds() >= 0);
         assertFalse(svc.isRecording());
 
         assertEquals(1, repo.findAll().size());
     }
+
+    @Test
+    void recoveryCompletesInProgressRowsAndAdoptsUnknownTakes() {
+        var repo = new InMemoryRecordingRepository();
+        var audio = new FakeAudioCapturePort();
+        var clock = new FakeClock(ZonedDateTime.parse("2025-01-01T10:00:00Z"));
+        Path dir = Path.of(System.getProperty("java.io.tmpdir"), "diar-e-tests", "recordings");
+        var svc = new RecordingService(repo, audio, clock, dir);
+
+        String id = svc.startRecording(null);
+        Path file = Path.of(repo.findInProgress().get(0).filePath());
+        // The process dies here; the next start finds the journaled take
+        audio.crash();
+        audio.leaveInterruptedRecording(id, file, clock.now(), 42);
+        audio.leaveInterruptedRecording("orphan", dir.resolve("orphan.wav"), clock.now().minusDays(1), 7);
+
+        var recovered = svc.recoverInterruptedRecordings();
+
+        assertEquals(2, recovered.size());
+        Recording completed = repo.findById(id).orElseThrow();
+        assertEquals(42, completed.durationSeconds());
+        assertEquals(file.toString(), completed.filePath());
+        assertEquals(2, repo.findAll().size());
+        assertTrue(repo.findAll().stream().anyMatch(r -> r.filePath().endsWith("orphan.wav") && r.durationSeconds() == 7));
+        assertTrue(svc.recoverInterruptedRecordings().isEmpty());
+    }
+
+    @Test
+    void recoveryMatchesRenamedTakesByIdAndDropsRowsWithNothingToRecover() {
+        var repo = new InMemoryRecordingRepository();
+        var audio = new FakeAudioCapturePort();
+        var clock = new FakeClock(ZonedDateTime.parse("2025-01-01T10:00:00Z"));
+        Path dir = Path.of(System.getProperty("java.io.tmpdir"), "diar-e-tests", "recordings");
+        var svc = new RecordingService(repo, audio, clock, dir);
+
+        String renamed = svc.startRecording(null);
+        audio.crash();
+        String lost = svc.startRecording(null);
+        audio.crash();
+        // The first take's name was taken, so it came back under another one; the second left no usable partial
+        Path recoveredFile = dir.resolve(renamed + "-recovered.wav");
+        audio.leaveInterruptedRecording(renamed, recoveredFile, clock.now(), 12);
+
+        var recovered = svc.recoverInterruptedRecordings();
+
+        assertEquals(1, recovered.size());
+        Recording completed = repo.findById(renamed).orElseThrow();
+        assertEquals(recoveredFile.toString(), completed.filePath());
+        assertEquals(12, completed.durationSeconds());
+        assertTrue(repo.findById(lost).isEmpty());
+        assertTrue(repo.findInProgress().isEmpty());
+        assertEquals(1, repo.findAll().size());
+    }
+
+    @Test
+    void recoveryLeavesTheLiveTakeAlone() {
+        var repo = new InMemoryRecordingRepository();
+        var audio = new FakeAudioCapturePort();
+        var clock = new FakeClock(ZonedDateTime.parse("2025-01-01T10:00:00Z"));
+        Path dir = Path.of(System.getProperty("java.io.tmpdir"), "diar-e-tests", "recordings");
+        var svc = new RecordingService(repo, audio, clock, dir);
+
+        String id = svc.startRecording(null);
+
+        assertTrue(svc.recoverInterruptedRecordings().isEmpty());
+        assertEquals(id, repo.findInProgress().get(0).id());
+    }
+
+    @Test
+    void recoveryCompletesATakeFinishedOnDiskAndLeavesFinishedRecordingsAlone() throws Exception {
+        var repo = new InMemoryRecordingRepository();
+        var audio = new FakeAudioCapturePort();
+        var clock = new FakeClock(ZonedDateTime.parse("2025-01-01T10:00:00Z"));
+        Path dir = Files.createTempDirectory("diar-recordings-");
+        var svc = new RecordingService(repo, audio, clock, dir);
+        // Imported, without its audio on this machine
+        repo.save(new Recording("imported", dir.resolve("elsewhere.wav").toString(), clock.now().minusDays(3), null));
+
+        String id = svc.startRecording(null);
+        // The take reached its final name, then the process died before its row was completed
+        Path file = audio.stopRecording();
+        audio.crash();
+
+        var recovered = svc.recoverInterruptedRecordings();
+
+        assertEquals(1, recovered.size());
+        Recording completed = repo.findById(id).orElseThrow();
+        assertEquals(file.toString(), completed.filePath());
+        assertEquals(clock.now(), completed.createdAt());
+        assertTrue(repo.findById("imported").isPresent());
+        assertTrue(repo.findInProgress().isEmpty());
+
+        Files.delete(file);
+        Files.delete(dir);
+    }
 }
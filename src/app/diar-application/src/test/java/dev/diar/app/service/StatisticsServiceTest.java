@@ -56,4 +56,30 @@ public class StatisticsServiceTest {
         List<StatisticsService.CategoryProgress> all = stats.allCategoryProgress();
         assertEquals(2, all.size());
     }
+
+    @Test
+    void repairRebuildsTheRollupOnlyWhenItDrifted() {
+        var drifted = new boolean[] {false};
+        var rebuilds = new int[] {0};
+        var logs = new InMemoryLogRepository() {
+            @Override
+            public boolean dailyCountsMatch() {
+                return !drifted[0];
+            }
+
+            @Override
+            public void rebuildDailyCounts() {
+                rebuilds[0]++;
+                drifted[0] = false;
+            }
+        };
+        var stats = new StatisticsService(new InMemoryCategoryRepository(), logs, new InMemoryTowerRepository(),
+            new FakeClock(ZonedDateTime.parse("2025-01-10T12:00:00Z")));
+
+        assertFalse(stats.repairDailyCounts());
+        drifted[0] = true;
+        assertTrue(stats.repairDailyCounts());
+        assertFalse(stats.repairDailyCounts());
+        assertEquals(1, rebuilds[0]);
+    }
 }
@@ -0,0 +1,63 @@
+package dev.diar.app.service;
+
+import dev.diar.app.service.fakes.*;
+import dev.diar.core.model.Category;
+import dev.diar.core.model.LogEntry;
+import dev.diar.core.model.Tower;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TowerViewServiceTest {
+
+    @Test
+    void logsForTowerReturnsThatTowersBlocksInOrder() {
+        var categories = new InMemoryCategoryRepository();
+        var logs = new InMemoryLogRepository();
+        var towers = new InMemoryTowerRepository();
+        var clock = new FakeClock(ZonedDateTime.parse("2025-01-10T12:00:00Z"));
+
+        categories.save(new Category("c1", "Running", 2));
+        var svc = new BlockService(categories, logs, towers, clock);
+        svc.addBlock("c1", "first");
+        clock.setNow(clock.now().plusMinutes(1));
+        svc.addBlock("c1", "second");
+        clock.setNow(clock.now().plusMinutes(1));
+        svc.addBlock("c1", "third");
+
+        var view = new TowerViewService(categories, logs, towers, clock);
+        Tower completed = towers.findByCategory("c1").stream().filter(Tower::isCompleted).findFirst().orElseThrow();
+        List<LogEntry> entries = view.logsForTower("c1", completed);
+        assertEquals(2, entries.size());
+        assertEquals("first", entries.get(0).note());
+        assertEquals("second", entries.get(1).note());
+
+        Tower active = towers.findByCategory("c1").stream().filter(t -> !t.isCompleted()).findFirst().orElseThrow();
+        List<LogEntry> activeEntries = view.logsForTower("c1", active);
+        assertEquals(1, activeEntries.size());
+        assertEquals("third", activeEntries.get(0).note());
+    }
+
+    @Test
+    void logsWithoutTowerLinkFallBackToCountSlices() {
+        var categories = new InMemoryCategoryRepository();
+        var logs = new InMemoryLogRepository();
+        var towers = new InMemoryTowerRepository();
+        var clock = new FakeClock(ZonedDateTime.parse("2025-01-10T12:00:00Z"));
+
+        // As imported from an export written before logs recorded their tower
+        categories.save(new Category("c1", "Running", 2));
+        towers.save(new Tower("t1", "c1", 2, 2, clock.today()));
+        towers.save(new Tower("t2", "c1", 2, 1, null));
+        logs.save(new LogEntry("l1", "c1", "first", clock.now().minusHours(3)));
+        logs.save(new LogEntry("l2", "c1", "second", clock.now().minusHours(2)));
+        logs.save(new LogEntry("l3", "c1", "third", clock.now().minusHours(1)));
+
+        var view = new TowerViewService(categories, logs, towers, clock);
+        assertEquals(List.of("first", "second"), view.logsForTower("c1", towers.findByCategory("c1").get(0)).stream().map(LogEntry::note).toList());
+        assertEquals(List.of("third"), view.logsForTower("c1", towers.findByCategory("c1").get(1)).stream().map(LogEntry::note).toList());
+    }
+}
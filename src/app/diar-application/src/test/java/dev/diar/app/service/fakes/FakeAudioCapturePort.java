@@ -6,12 +6,27 @@ import javax.sound.sampled.*;
 import java.io.ByteArrayInputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 
 public class FakeAudioCapturePort implements AudioCapturePort {
     private final AtomicBoolean recording = new AtomicBoolean(false);
     private Path target;
+    private final List<RecoveredRecording> interrupted = new ArrayList<>();
+
+    // Simulates a take that a crash left behind for the next recovery pass
+    public void leaveInterruptedRecording(String id, Path file, ZonedDateTime startedAt, Integer durationSeconds) {
+        interrupted.add(new RecoveredRecording(id, file, startedAt, durationSeconds));
+    }
+
+    // Drops the take in progress without writing it, as a killed process would
+    public void crash() {
+        recording.set(false);
+        target = null;
+    }
 
     @Override
     public void startRecording(Path targetFile, Consumer<Double> levelMeterCallback) throws Exception {
@@ -42,4 +57,11 @@ public class FakeAudioCapturePort implements AudioCapturePort {
     public boolean isRecording() {
         return recording.get();
     }
+
+    @Override
+    public List<RecoveredRecording> recoverInterruptedRecordings(Path dir) {
+        List<RecoveredRecording> recovered = List.copyOf(interrupted);
+        interrupted.clear();
+        return recovered;
+    }
 }
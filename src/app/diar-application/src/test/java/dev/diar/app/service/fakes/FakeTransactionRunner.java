@@ -0,0 +1,30 @@
+package dev.diar.app.service.fakes;
+
+import dev.diar.app.port.TransactionRunner;
+
+import java.util.function.Supplier;
+
+public class FakeTransactionRunner implements TransactionRunner {
+    private int depth;
+    private int committed;
+
+    @Override
+    public <T> T inTransaction(Supplier<T> work) {
+        depth++;
+        try {
+            T result = work.get();
+            if (depth == 1) committed++;
+            return result;
+        } finally {
+            depth--;
+        }
+    }
+
+    public boolean isActive() {
+        return depth > 0;
+    }
+
+    public int committed() {
+        return committed;
+    }
+}
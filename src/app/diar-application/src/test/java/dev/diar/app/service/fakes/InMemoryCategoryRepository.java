@@ -10,6 +10,12 @@ public class InMemoryCategoryRepository implements CategoryRepository {
 
     @Override
     public void save(Category category) {
+        // Names are unique, as in the database
+        for (Category other : storage.values()) {
+            if (!other.id().equals(category.id()) && other.name().equals(category.name())) {
+                throw new IllegalArgumentException("Category name already exists: " + category.name());
+            }
+        }
         storage.put(category.id(), category);
     }
 
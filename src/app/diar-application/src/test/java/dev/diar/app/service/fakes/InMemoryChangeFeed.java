@@ -0,0 +1,60 @@
+package dev.diar.app.service.fakes;
+
+import dev.diar.app.port.CategoryRepository;
+import dev.diar.app.port.ChangeFeedPort;
+import dev.diar.app.port.RecordingRepository;
+import dev.diar.app.port.TowerRepository;
+
+import java.util.*;
+
+// Journal kept by hand: tests call changed/deleted where the database triggers would fire
+public class InMemoryChangeFeed implements ChangeFeedPort {
+    private record Change(Entity entity, String id, long seq, boolean deleted) {}
+
+    private final CategoryRepository categoryRepository;
+    private final TowerRepository towerRepository;
+    private final RecordingRepository recordingRepository;
+    private final Map<String, Change> journal = new HashMap<>();
+    private long seq;
+
+    public InMemoryChangeFeed(CategoryRepository categoryRepository, TowerRepository towerRepository, RecordingRepository recordingRepository) {
+        this.categoryRepository = categoryRepository;
+        this.towerRepository = towerRepository;
+        this.recordingRepository = recordingRepository;
+    }
+
+    public void changed(Entity entity, String id) {
+        journal.put(entity + ":" + id, new Change(entity, id, ++seq, false));
+    }
+
+    public void deleted(Entity entity, String id) {
+        journal.put(entity + ":" + id, new Change(entity, id, ++seq, true));
+    }
+
+    @Override
+    public long lastSequence() {
+        return seq;
+    }
+
+    @Override
+    public void forEachChangeAfter(long sequence, Visitor visitor) {
+        List<Change> changes = journal.values().stream()
+            .filter(c -> c.seq() > sequence)
+            .sorted(Comparator.comparingLong(Change::seq))
+            .toList();
+        changes.stream().filter(Change::deleted).forEach(c -> visitor.deleted(c.entity(), c.id()));
+        for (Entity entity : Entity.values()) {
+            for (Change c : changes) {
+                if (c.deleted() || c.entity() != entity) continue;
+                switch (entity) {
+                    case CATEGORY -> categoryRepository.findById(c.id()).ifPresent(visitor::category);
+                    case TOWER -> categoryRepository.findAll().stream()
+                        .flatMap(cat -> towerRepository.findByCategory(cat.id()).stream())
+                        .filter(t -> t.id().equals(c.id()))
+                        .forEach(visitor::tower);
+                    case RECORDING -> recordingRepository.findById(c.id()).ifPresent(visitor::recording);
+                }
+            }
+        }
+    }
+}
@@ -3,8 +3,10 @@ package dev.diar.app.service.fakes;
 import dev.diar.app.port.LogRepository;
 import dev.diar.core.model.LogEntry;
 
+import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public class InMemoryLogRepository implements LogRepository {
@@ -12,7 +14,7 @@ public class InMemoryLogRepository implements LogRepository {
 
     @Override
     public void save(LogEntry logEntry) {
-        storage.put(logEntry.id(), logEntry);
+        storage.putIfAbsent(logEntry.id(), logEntry);
     }
 
     @Override
@@ -24,4 +26,79 @@ public class InMemoryLogRepository implements LogRepository {
             .sorted(Comparator.comparing(LogEntry::createdAt))
             .collect(Collectors.toList());
     }
+
+    @Override
+    public List<LogEntry> findByTower(String towerId) {
+        return storage.values().stream()
+            .filter(le -> towerId.equals(le.towerId()))
+            .sorted(Comparator.comparing(LogEntry::createdAt))
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<LogEntry> findRange(ZonedDateTime fromInclusive, ZonedDateTime toExclusive, int limit) {
+        return storage.values().stream()
+            .filter(le -> !le.createdAt().isBefore(fromInclusive) && le.createdAt().isBefore(toExclusive))
+            .sorted(Comparator.comparing(LogEntry::createdAt).reversed())
+            .limit(Math.max(0, limit))
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<LogEntry> findPage(String categoryId, ZonedDateTime fromInclusive, ZonedDateTime toExclusive, PageKey after, int limit) {
+        Comparator<LogEntry> newestFirst = Comparator.<LogEntry>comparingLong(le -> le.createdAt().toInstant().toEpochMilli())
+            .thenComparing(LogEntry::id)
+            .reversed();
+        return storage.values().stream()
+            .filter(le -> categoryId == null || le.categoryId().equals(categoryId))
+            .filter(le -> !le.createdAt().isBefore(fromInclusive) && le.createdAt().isBefore(toExclusive))
+            .filter(le -> {
+                if (after == null) return true;
+                long ms = le.createdAt().toInstant().toEpochMilli();
+                return ms < after.createdAtMillis() || (ms == after.createdAtMillis() && le.id().compareTo(after.id()) < 0);
+            })
+            .sorted(newestFirst)
+            .limit(Math.max(0, limit))
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<LogEntry> searchNotes(String query, ZonedDateTime fromInclusive, ZonedDateTime toExclusive, int limit) {
+        List<String> words = Arrays.stream(query.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+            .filter(w -> !w.isEmpty())
+            .collect(Collectors.toList());
+        if (words.isEmpty()) return List.of();
+        return storage.values().stream()
+            .filter(le -> !le.createdAt().isBefore(fromInclusive) && le.createdAt().isBefore(toExclusive))
+            .filter(le -> {
+                if (le.note() == null) return false;
+                List<String> noteWords = Arrays.asList(le.note().toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"));
+                return words.stream().allMatch(w -> noteWords.stream().anyMatch(nw -> nw.startsWith(w)));
+            })
+            .sorted(Comparator.comparing(LogEntry::createdAt).reversed())
+            .limit(Math.max(0, limit))
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public long lastSequence() {
+        return storage.size();
+    }
+
+    @Override
+    public void forEachAddedAfter(long sequence, Consumer<LogEntry> visitor) {
+        storage.values().stream().skip(sequence).forEach(visitor);
+    }
+
+    @Override
+    public Map<LocalDate, Long> countPerLocalDay(LocalDate fromInclusive, LocalDate toInclusive) {
+        Map<LocalDate, Long> result = new TreeMap<>();
+        for (LogEntry le : storage.values()) {
+            LocalDate day = le.createdAt().toLocalDate();
+            if (!day.isBefore(fromInclusive) && !day.isAfter(toInclusive)) {
+                result.merge(day, 1L, Long::sum);
+            }
+        }
+        return result;
+    }
 }
@@ -7,12 +7,25 @@ import java.util.*;
 
 public class InMemoryRecordingRepository implements RecordingRepository {
     private final Map<String, Recording> storage = new LinkedHashMap<>();
+    private final Map<String, Recording> inProgress = new LinkedHashMap<>();
 
     @Override
     public void save(Recording recording) {
+        inProgress.remove(recording.id());
         storage.put(recording.id(), recording);
     }
 
+    @Override
+    public void saveInProgress(Recording recording) {
+        storage.remove(recording.id());
+        inProgress.put(recording.id(), recording);
+    }
+
+    @Override
+    public List<Recording> findInProgress() {
+        return new ArrayList<>(inProgress.values());
+    }
+
     @Override
     public Optional<Recording> findById(String id) {
         return Optional.ofNullable(storage.get(id));
@@ -28,5 +41,6 @@ public class InMemoryRecordingRepository implements RecordingRepository {
     @Override
     public void delete(String id) {
         storage.remove(id);
+        inProgress.remove(id);
     }
 }
@@ -16,4 +16,9 @@ public class InMemorySettingsRepository implements SettingsRepository {
     public Optional<String> get(String key) {
         return Optional.ofNullable(storage.get(key));
     }
+
+    @Override
+    public Map<String, String> getAll() {
+        return new HashMap<>(storage);
+    }
 }
@@ -3,6 +3,7 @@ package dev.diar.app.service.fakes;
 import dev.diar.app.port.TowerRepository;
 import dev.diar.core.model.Tower;
 
+import java.time.LocalDate;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -20,4 +21,16 @@ public class InMemoryTowerRepository implements TowerRepository {
             .filter(t -> t.categoryId().equals(categoryId))
             .collect(Collectors.toList());
     }
+
+    @Override
+    public Map<LocalDate, Long> countCompletedPerDay(LocalDate fromInclusive, LocalDate toInclusive) {
+        Map<LocalDate, Long> result = new TreeMap<>();
+        for (Tower t : storage.values()) {
+            LocalDate day = t.completedOn();
+            if (day != null && !day.isBefore(fromInclusive) && !day.isAfter(toInclusive)) {
+                result.merge(day, 1L, Long::sum);
+            }
+        }
+        return result;
+    }
 }
@@ -3,16 +3,20 @@ package dev.diar.bootstrap;
 import dev.diar.adapter.audio.JavaSoundAudioCapturePort;
 import dev.diar.adapter.persistence.sqlite.*;
 import dev.diar.app.port.*;
+import dev.diar.app.service.CachingCategoryRepository;
+import dev.diar.app.service.CachingSettingsRepository;
 import dev.diar.app.service.SystemClock;
 import dev.diar.ui.ApplicationContext;
 import dev.diar.ui.MainApp;
 import javafx.application.Application;
 
-import javax.sql.DataSource;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 
 public class Main {
+    private static final Duration SETTINGS_WRITE_BEHIND = Duration.ofMillis(500);
+
     public static void main(String[] args) {
         try {
             // Setup data directories
@@ -22,17 +26,27 @@ public class Main {
             Files.createDirectories(dataDir);
             Files.createDirectories(recordingsDir);
             
-            // Initialize database
+            // Initialize database (-Ddiar.db.profile=performance selects WAL + split reader/writer pools)
             Path dbPath = dataDir.resolve("diar.db");
-            DataSource dataSource = SQLiteDataSourceFactory.create(dbPath);
-            DatabaseMigrator.migrate(dataSource);
+            SQLiteDataSourceFactory.Profile profile = SQLiteDataSourceFactory.Profile.from(System.getProperty("diar.db.profile"));
+            SqliteDataSources pools = SQLiteDataSourceFactory.create(dbPath, profile);
+            DatabaseMigrator.migrate(pools.writer());
+
+            // Repositories share the runner's data sources so they join its transactions
+            SqliteTransactionRunner transactionRunner = new SqliteTransactionRunner(pools);
+            SqliteDataSources dataSources = transactionRunner.dataSources();
             
             // Create repositories
-            CategoryRepository categoryRepository = new SqliteCategoryRepository(dataSource);
-            LogRepository logRepository = new SqliteLogRepository(dataSource);
-            TowerRepository towerRepository = new SqliteTowerRepository(dataSource);
-            RecordingRepository recordingRepository = new SqliteRecordingRepository(dataSource);
-            SettingsRepository settingsRepository = new SqliteSettingsRepository(dataSource);
+            CategoryRepository categoryRepository = new CachingCategoryRepository(new SqliteCategoryRepository(dataSources));
+            LogRepository logRepository = new SqliteLogRepository(dataSources);
+            TowerRepository towerRepository = new SqliteTowerRepository(dataSources);
+            RecordingRepository recordingRepository = new SqliteRecordingRepository(dataSources);
+            // Settings are cached; bursts of puts are coalesced and written at most every SETTINGS_WRITE_BEHIND
+            CachingSettingsRepository settingsRepository =
+                new CachingSettingsRepository(new SqliteSettingsRepository(dataSources), SETTINGS_WRITE_BEHIND);
+            Runtime.getRuntime().addShutdownHook(new Thread(settingsRepository::close, "diar-settings-flush"));
+            DashboardQueryPort dashboardQuery = new SqliteDashboardQuery(dataSources);
+            ChangeFeedPort changeFeed = new SqliteChangeFeed(dataSources);
             
             // Create adapters
             AudioCapturePort audioCapturePort = new JavaSoundAudioCapturePort();
@@ -47,9 +61,26 @@ public class Main {
                 settingsRepository,
                 audioCapturePort,
                 clockPort,
+                transactionRunner,
+                dashboardQuery,
+                changeFeed,
                 recordingsDir
             );
             
+            // Takes cut short by a crash become regular recordings before the UI lists them
+            try {
+                applicationContext.getRecordingService().recoverInterruptedRecordings();
+            } catch (RuntimeException e) {
+                System.err.println("Recording recovery failed: " + e.getMessage());
+            }
+
+            // A statistics rollup that drifted from the logs, e.g. after a hand edit, is rebuilt before it is shown
+            try {
+                applicationContext.getStatisticsService().repairDailyCounts();
+            } catch (RuntimeException e) {
+                System.err.println("Statistics check failed: " + e.getMessage());
+            }
+
             // Set context and launch UI
             MainApp.setApplicationContext(applicationContext);
             Application.launch(MainApp.class, args);
@@ -6,18 +6,26 @@ import java.util.Objects;
 public final class LogEntry {
     private final String id;
     private final String categoryId;
+    private final String towerId;
     private final String note;
     private final ZonedDateTime createdAt;
 
     public LogEntry(String id, String categoryId, String note, ZonedDateTime createdAt) {
+        this(id, categoryId, null, note, createdAt);
+    }
+
+    public LogEntry(String id, String categoryId, String towerId, String note, ZonedDateTime createdAt) {
         this.id = Objects.requireNonNull(id);
         this.categoryId = Objects.requireNonNull(categoryId);
+        this.towerId = towerId;
         this.note = note;
         this.createdAt = Objects.requireNonNull(createdAt);
     }
 
     public String id() { return id; }
     public String categoryId() { return categoryId; }
+    // Tower this block was added to; null for entries that predate the link
+    public String towerId() { return towerId; }
     public String note() { return note; }
     public ZonedDateTime createdAt() { return createdAt; }
 }
@@ -14,6 +14,9 @@ public class ApplicationContext {
     private final SettingsRepository settingsRepository;
     private final AudioCapturePort audioCapturePort;
     private final ClockPort clockPort;
+    private final TransactionRunner transactionRunner;
+    private final DashboardQueryPort dashboardQuery;
+    private final ChangeFeedPort changeFeed;
     private final Path recordingsDir;
     
     private CategoryService categoryService;
@@ -25,6 +28,7 @@ public class ApplicationContext {
     private StatisticsService statisticsService;
     private ExportImportService exportImportService;
     private TowerViewService towerViewService;
+    private DashboardService dashboardService;
 
     public ApplicationContext(
         CategoryRepository categoryRepository,
@@ -35,6 +39,25 @@ public class ApplicationContext {
         AudioCapturePort audioCapturePort,
         ClockPort clockPort,
         Path recordingsDir
+    ) {
+        this(categoryRepository, logRepository, towerRepository, recordingRepository, settingsRepository,
+            audioCapturePort, clockPort, TransactionRunner.direct(),
+            DashboardQueryPort.from(categoryRepository, towerRepository),
+            ChangeFeedPort.fullScan(categoryRepository, towerRepository, recordingRepository), recordingsDir);
+    }
+
+    public ApplicationContext(
+        CategoryRepository categoryRepository,
+        LogRepository logRepository,
+        TowerRepository towerRepository,
+        RecordingRepository recordingRepository,
+        SettingsRepository settingsRepository,
+        AudioCapturePort audioCapturePort,
+        ClockPort clockPort,
+        TransactionRunner transactionRunner,
+        DashboardQueryPort dashboardQuery,
+        ChangeFeedPort changeFeed,
+        Path recordingsDir
     ) {
         this.categoryRepository = Objects.requireNonNull(categoryRepository);
         this.logRepository = Objects.requireNonNull(logRepository);
@@ -43,6 +66,9 @@ public class ApplicationContext {
         this.settingsRepository = Objects.requireNonNull(settingsRepository);
         this.audioCapturePort = Objects.requireNonNull(audioCapturePort);
         this.clockPort = Objects.requireNonNull(clockPort);
+        this.transactionRunner = Objects.requireNonNull(transactionRunner);
+        this.dashboardQuery = Objects.requireNonNull(dashboardQuery);
+        this.changeFeed = Objects.requireNonNull(changeFeed);
         this.recordingsDir = Objects.requireNonNull(recordingsDir);
         
         initializeServices();
@@ -50,7 +76,7 @@ public class ApplicationContext {
 
     private void initializeServices() {
         this.categoryService = new CategoryService(categoryRepository);
-        this.blockService = new BlockService(categoryRepository, logRepository, towerRepository, clockPort);
+        this.blockService = new BlockService(categoryRepository, logRepository, towerRepository, clockPort, transactionRunner);
         this.recordingService = new RecordingService(recordingRepository, audioCapturePort, clockPort, recordingsDir);
         SettingsService settingsService = new SettingsService(settingsRepository);
         this.energyService = new EnergyService(settingsService, clockPort);
@@ -60,17 +86,19 @@ public class ApplicationContext {
             energyService,
             clockPort
         );
-        this.logQueryService = new LogQueryService(logRepository, categoryRepository, clockPort);
-        this.statisticsService = new StatisticsService(categoryRepository, logRepository, towerRepository, clockPort);
+        this.logQueryService = new LogQueryService(logRepository, clockPort);
+        this.statisticsService = new StatisticsService(categoryRepository, logRepository, towerRepository, clockPort, dashboardQuery);
         this.exportImportService = new ExportImportService(
             categoryRepository,
             logRepository,
             towerRepository,
             recordingRepository,
             settingsRepository,
-            clockPort
+            clockPort,
+            changeFeed
         );
         this.towerViewService = new TowerViewService(categoryRepository, logRepository, towerRepository, clockPort);
+        this.dashboardService = new DashboardService(dashboardQuery);
     }
 
     public CategoryService getCategoryService() {
@@ -108,4 +136,8 @@ public class ApplicationContext {
     public TowerViewService getTowerViewService() {
         return towerViewService;
     }
+
+    public DashboardService getDashboardService() {
+        return dashboardService;
+    }
 }
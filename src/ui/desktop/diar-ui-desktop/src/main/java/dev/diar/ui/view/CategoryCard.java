@@ -20,12 +20,14 @@ import java.io.File;
 
 public class CategoryCard extends VBox {
     private final Category category;
+    private final int activeBlocks;
     private final BlockService blockService;
     private final Runnable onUpdate;
     private final ApplicationContext applicationContext;
 
-    public CategoryCard(Category category, BlockService blockService, Runnable onUpdate, ApplicationContext applicationContext) {
+    public CategoryCard(Category category, int activeBlocks, BlockService blockService, Runnable onUpdate, ApplicationContext applicationContext) {
         this.category = category;
+        this.activeBlocks = activeBlocks;
         this.blockService = blockService;
         this.onUpdate = onUpdate;
         this.applicationContext = applicationContext;
@@ -58,9 +60,7 @@ public class CategoryCard extends VBox {
         // Progress section
         int target = category.towerBlockTarget();
         boolean infinite = (target == Integer.MAX_VALUE);
-        int completed = blockService.getActiveTower(category.id())
-            .map(t -> t.blocksCompleted())
-            .orElse(0);
+        int completed = activeBlocks;
         double progress = infinite ? ProgressBar.INDETERMINATE_PROGRESS : (target > 0 ? (double) completed / (double) target : 0.0);
 
         ProgressBar progressBar = new ProgressBar(progress);
@@ -2,6 +2,7 @@ package dev.diar.ui.view;
 
 import dev.diar.app.service.BlockService;
 import dev.diar.app.service.CategoryService;
+import dev.diar.app.service.ExportImportService;
 import dev.diar.app.service.RecordingService;
 import dev.diar.ui.ApplicationContext;
 import dev.diar.ui.AppSettings;
@@ -44,6 +45,8 @@ import java.nio.file.Path;
 public class MainView extends BorderPane {
     private static final String REPO_OWNER = "S1mplector";
     private static final String REPO_NAME = "DIAR-E";
+    private static final String BACKUP_EXTENSION = ".diarbak";
+    private static final String ARCHIVE_EXTENSION = ".zip";
     private final CategoryService categoryService;
     private final BlockService blockService;
     private final RecordingService recordingService;
@@ -144,7 +147,11 @@ public class MainView extends BorderPane {
         MenuItem importItem = new MenuItem("Import...");
         importItem.setOnAction(e -> doImport());
         MenuItem exportItem = new MenuItem("Export...");
-        exportItem.setOnAction(e -> doExport());
+        exportItem.setOnAction(e -> doExport(ExportMode.COPY));
+        MenuItem exportBaseItem = new MenuItem("Export New Base...");
+        exportBaseItem.setOnAction(e -> doExport(ExportMode.BASE));
+        MenuItem exportChangesItem = new MenuItem("Export Changes...");
+        exportChangesItem.setOnAction(e -> doExport(ExportMode.CHANGES));
         MenuItem openDataFolderItem = new MenuItem("Open Data Folder");
         openDataFolderItem.setOnAction(e -> openDataFolder());
         MenuItem openRecsFolderItem = new MenuItem("Open Recordings Folder");
@@ -157,6 +164,8 @@ public class MainView extends BorderPane {
             new SeparatorMenuItem(),
             importItem,
             exportItem,
+            exportBaseItem,
+            exportChangesItem,
             new SeparatorMenuItem(),
             openDataFolderItem,
             openRecsFolderItem,
@@ -280,15 +289,16 @@ public class MainView extends BorderPane {
     private void loadCategories() {
         categoryGrid.getChildren().clear();
         
-        var categories = categoryService.getAllCategories();
+        // One query for every category and its active tower, however many categories there are
+        var categories = applicationContext.getDashboardService().snapshot().categories();
         if (categories.isEmpty()) {
             Label emptyLabel = new Label("No categories yet. Add one to start building towers!");
             emptyLabel.setTextFill(Color.web("#d4c4a1"));
             emptyLabel.setFont(Font.font("System", FontPosture.ITALIC, 14));
             categoryGrid.getChildren().add(emptyLabel);
         } else {
-            for (var category : categories) {
-                CategoryCard card = new CategoryCard(category, blockService, this::loadCategories, applicationContext);
+            for (var status : categories) {
+                CategoryCard card = new CategoryCard(status.category(), status.activeBlocks(), blockService, this::loadCategories, applicationContext);
                 card.setPrefWidth(420);
                 categoryGrid.getChildren().add(card);
             }
@@ -390,9 +400,13 @@ public class MainView extends BorderPane {
         }
     }
 
+    private static Path recordingsFolder() {
+        return Path.of(System.getProperty("user.home"), ".diar-e", "recordings");
+    }
+
     private void openRecordingsFolder() {
         try {
-            Path dir = Path.of(System.getProperty("user.home"), ".diar-e", "recordings");
+            Path dir = recordingsFolder();
             if (Desktop.isDesktopSupported()) {
                 Desktop.getDesktop().open(dir.toFile());
             }
@@ -459,15 +473,38 @@ public class MainView extends BorderPane {
         alert.showAndWait();
     }
 
-    private void doExport() {
+    // COPY is a one-off full export; BASE starts the chain that CHANGES exports extend
+    private enum ExportMode { COPY, BASE, CHANGES }
+
+    private void doExport(ExportMode mode) {
         try {
             FileChooser chooser = new FileChooser();
-            chooser.setTitle("Export Data");
+            chooser.setTitle(switch (mode) {
+                case COPY -> "Export Data";
+                case BASE -> "Export New Base for Change Exports";
+                case CHANGES -> "Export Changes Since Last Base or Changes";
+            });
             chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("JSON Files", "*.json"));
+            chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Compact Backups", "*" + BACKUP_EXTENSION));
+            if (mode == ExportMode.COPY) {
+                chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Full Archives with Audio", "*" + ARCHIVE_EXTENSION));
+            }
             Window w = getScene() != null ? getScene().getWindow() : null;
             var file = chooser.showSaveDialog(w);
             if (file != null) {
-                applicationContext.getExportImportService().exportAll(file.toPath());
+                boolean archive = file.getName().endsWith(ARCHIVE_EXTENSION);
+                var format = file.getName().endsWith(BACKUP_EXTENSION) || archive
+                    ? ExportImportService.Format.BINARY
+                    : ExportImportService.Format.JSON;
+                var service = applicationContext.getExportImportService();
+                switch (mode) {
+                    case COPY -> {
+                        if (archive) service.exportArchive(file.toPath(), format);
+                        else service.exportAll(file.toPath(), format);
+                    }
+                    case BASE -> service.exportBase(file.toPath(), format);
+                    case CHANGES -> service.exportChanges(file.toPath(), format);
+                }
                 updateStatus("Exported to: " + file.getAbsolutePath());
             }
         } catch (Exception ex) {
@@ -479,7 +516,7 @@ public class MainView extends BorderPane {
         try {
             FileChooser chooser = new FileChooser();
             chooser.setTitle("Import Data");
-            chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("JSON Files", "*.json"));
+            chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("DIAR Backups", "*.json", "*" + BACKUP_EXTENSION, "*" + ARCHIVE_EXTENSION));
             Window w = getScene() != null ? getScene().getWindow() : null;
             var file = chooser.showOpenDialog(w);
             if (file != null) {
@@ -490,7 +527,11 @@ public class MainView extends BorderPane {
                 var res = confirm.showAndWait();
                 if (res.isPresent() && res.get() != ButtonType.CANCEL) {
                     boolean remap = res.get() == ButtonType.YES;
-                    applicationContext.getExportImportService().importAll(file.toPath(), remap);
+                    if (file.getName().endsWith(ARCHIVE_EXTENSION)) {
+                        applicationContext.getExportImportService().importArchive(file.toPath(), recordingsFolder(), remap);
+                    } else {
+                        applicationContext.getExportImportService().importAll(file.toPath(), remap);
+                    }
                     loadCategories();
                     updateStatus("Imported from: " + file.getAbsolutePath());
                 }
@@ -431,7 +431,7 @@ public class RecordingDialog extends Dialog<ButtonType> {
             currentRecordingId = recordingService.startRecordingWithSpectrum(level -> {
                 // no-op: sensitivity bar removed from UI
             }, bins -> {
-                // called from capture thread
+                // Called on the audio analysis thread; the array is ours to keep
                 this.spectrumBins = bins;
                 Platform.runLater(this::renderSpectrum);
             });
@@ -479,7 +479,10 @@ public class RecordingDialog extends Dialog<ButtonType> {
             Alert success = new Alert(Alert.AlertType.INFORMATION);
             success.setTitle("Recording Saved");
             success.setHeaderText(null);
-            success.setContentText("Your audio diary entry has been saved!");
+            var stats = recordingService.getCaptureStats();
+            success.setContentText(stats.audioLost()
+                ? "Your audio diary entry has been saved, but the system could not keep up and some audio may be missing."
+                : "Your audio diary entry has been saved!");
             if (cssUrl != null) success.getDialogPane().getStylesheets().add(cssUrl);
             success.getDialogPane().setStyle("-fx-background-color: #3a2f27; -fx-base: #3a2f27; -fx-control-inner-background: #2e2e2e; -fx-text-background-color: #d4c4a1; -fx-focus-color: -diar-highlight; -fx-faint-focus-color: rgba(122,106,90,0.25);");
             Button okBtn2 = (Button) success.getDialogPane().lookupButton(ButtonType.OK);
@@ -140,7 +140,7 @@ public class SettingsDialog extends Stage {
         ZonedDateTime to = ZonedDateTime.now();
         for (Category c : categories) {
             towers += towerViewService.towersForCategory(c.id()).size();
-            logs += logQueryService.logsByCategory(c.id(), from, to).size();
+            logs += logQueryService.countByCategory(c.id(), from, to);
         }
         towersCountValue.setText(String.valueOf(towers));
         logsCountValue.setText(String.valueOf(logs));